@@ -0,0 +1,24 @@
+package flappy_bird.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Same arguments as the plain JMH main, but always reports the allocation rate
+// (gc profiler) and never needs a display or a GPU:
+//   java -jar target/benchmarks.jar [regexp] [jmh options]
+public class BenchmarkMain {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.jvmArgsAppend("-Djava.awt.headless=true", "-Dprism.order=sw")
+				.build();
+		new Runner(options).run();
+	}
+}
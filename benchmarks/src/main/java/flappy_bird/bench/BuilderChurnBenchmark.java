@@ -0,0 +1,94 @@
+package flappy_bird.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import flappy_bird.interfaces.Interpolable;
+import flappy_bird.interfaces.Renderable;
+import flappy_bird.interfaces.Updatable;
+import flappy_bird.utils.GameObject;
+import flappy_bird.utils.GameObjectBuilder;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+
+// add()/remove() of a batch of objects next to a steady population, each side
+// applied with one flush(). The scene graph is never shown, so no toolkit is needed
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuilderChurnBenchmark {
+	@Param({ "20" })
+	public int population;
+
+	@Param({ "1", "8" })
+	public int churn;
+
+	private GameObjectBuilder gameOB;
+	private Sprite[] batch;
+
+	@Setup
+	public void setup() {
+		gameOB = GameObjectBuilder.getInstance();
+		gameOB.setRootNode(new Group());
+		for (int i = 0; i < population; i++) {
+			gameOB.add(new Sprite());
+		}
+		gameOB.flush();
+		batch = new Sprite[churn];
+	}
+
+	@TearDown
+	public void tearDown() {
+		gameOB.removeAll();
+	}
+
+	@Benchmark
+	public GameObjectBuilder addRemove() {
+		// Removed objects can not be added again, so every batch is new
+		for (int i = 0; i < churn; i++) {
+			batch[i] = new Sprite();
+		}
+		gameOB.add(batch);
+		gameOB.flush();
+		gameOB.remove(batch);
+		gameOB.flush();
+		return gameOB;
+	}
+
+	private static class Sprite extends GameObject implements Updatable, Renderable, Interpolable {
+		private final Rectangle render = new Rectangle(10, 10);
+
+		@Override
+		public void update(double deltaTime) {
+		}
+
+		@Override
+		public void interpolate(double alpha) {
+		}
+
+		@Override
+		public Node getRender() {
+			return render;
+		}
+
+		@Override
+		public void destroy() {
+		}
+	}
+}
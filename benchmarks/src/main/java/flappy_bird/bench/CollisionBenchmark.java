@@ -0,0 +1,79 @@
+package flappy_bird.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import flappy_bird.Config;
+import flappy_bird.collision.AABB;
+import flappy_bird.collision.CollisionHandler;
+import flappy_bird.collision.CollisionSystem;
+import flappy_bird.simulation.EntityStore;
+import flappy_bird.simulation.World;
+
+// The collision pass of World.step: bird and ground plus every pipe entity.
+// "spaced" lays the columns out like the spawner does, "stacked" piles them all
+// on the bird so every box survives the broadphase
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+	@Param({ "3", "30", "300" })
+	public int columns;
+
+	@Param({ "spaced", "stacked" })
+	public String layout;
+
+	private final EntityStore entities = new EntityStore();
+	private final CollisionSystem collisionSystem = new CollisionSystem();
+	private final AABB bird = new AABB(Config.playerCenter - 12, Config.baseHeight / 2 - 9, 25, 18);
+	private final AABB ground = new AABB(0, Config.baseHeight - Config.groundHeight, Config.baseWidth,
+			Config.groundHeight);
+
+	private int hits;
+	private final CollisionHandler handler = (collidator, other) -> hits++;
+
+	@Setup
+	public void setup() {
+		int totalHeight = Config.baseHeight - Config.groundHeight;
+		double spacing = Config.DEFAULT_SPEED * Config.pipesPerSecond;
+		for (int i = 0; i < columns; i++) {
+			double x = "stacked".equals(layout) ? Config.playerCenter + i % 7 : Config.playerCenter + i * spacing;
+			int bottomHeight = 50 + (i * 97) % 400;
+			int topHeight = totalHeight - bottomHeight - (int) (totalHeight * Config.emptySpace);
+			entities.create(EntityStore.KIND_PIPE, x, -Config.DEFAULT_SPEED, -World.PIPE_WIDTH / 2, -1e6,
+					World.PIPE_WIDTH, topHeight + 1e6, EntityStore.SPRITE_PIPE_TOP, topHeight);
+			entities.create(EntityStore.KIND_PIPE, x, -Config.DEFAULT_SPEED, -World.PIPE_WIDTH / 2,
+					totalHeight - bottomHeight, World.PIPE_WIDTH, bottomHeight, EntityStore.SPRITE_PIPE_BOTTOM,
+					bottomHeight);
+			entities.create(EntityStore.KIND_SCORE_ZONE, x, -Config.DEFAULT_SPEED, 0, 0, World.SCORE_ZONE_WIDTH,
+					totalHeight, EntityStore.SPRITE_NONE, 0);
+		}
+	}
+
+	@Benchmark
+	public int checkColliders() {
+		collisionSystem.clear();
+		collisionSystem.add(bird, true);
+		collisionSystem.add(ground, false);
+		for (int row = 0; row < entities.size(); row++) {
+			collisionSystem.add(entities.getMinX(row), entities.getMinY(row), entities.getMaxX(row),
+					entities.getMaxY(row), false);
+		}
+		collisionSystem.detect(handler);
+		return hits;
+	}
+}
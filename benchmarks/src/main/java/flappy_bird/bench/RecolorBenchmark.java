@@ -0,0 +1,62 @@
+package flappy_bird.bench;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import flappy_bird.objects.BirdSkin;
+import flappy_bird.utils.Utils;
+
+// Palette swap of one bird frame. The frame is decoded with ImageIO so no
+// JavaFX toolkit is needed; the recolor itself only sees the ARGB array
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecolorBenchmark {
+	@Param({ "img/flappy-bird.png", "img/flappy-bird-up.png", "img/flappy-bird-down.png" })
+	public String frame;
+
+	@Param({ "BLUE", "GHOST" })
+	public BirdSkin skin;
+
+	private int[] source;
+	private int[] pixels;
+	private int[] oldColors;
+	private int[] newColors;
+
+	@Setup
+	public void setup() throws IOException {
+		try (InputStream in = ClassLoader.getSystemResourceAsStream(frame)) {
+			BufferedImage image = ImageIO.read(in);
+			source = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+		}
+		pixels = new int[source.length];
+		oldColors = Utils.toArgb(BirdSkin.ORIGINAL.getPalette());
+		newColors = Utils.toArgb(skin.getPalette());
+	}
+
+	@Benchmark
+	public int[] reColor() {
+		System.arraycopy(source, 0, pixels, 0, source.length);
+		Utils.reColor(pixels, oldColors, newColors);
+		return pixels;
+	}
+}
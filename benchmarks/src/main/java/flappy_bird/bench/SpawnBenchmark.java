@@ -0,0 +1,122 @@
+package flappy_bird.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import flappy_bird.Config;
+import flappy_bird.batch.BotPilot;
+import flappy_bird.batch.Pilot;
+import flappy_bird.simulation.EntityStore;
+import flappy_bird.simulation.GameRules;
+import flappy_bird.simulation.World;
+import flappy_bird.simulation.WorldListener;
+import flappy_bird.utils.ObjectPool;
+
+// One spawn interval of the real game path: the world is stepped, with the bot
+// playing, until its spawner creates the next column (two pipes and a score zone)
+// and the oldest one is despawned. A listener hands pooled views out and back the
+// way PipeBuilder does, without nodes. TickBenchmark gives the cost of the plain
+// steps included here
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnBenchmark {
+	private static final double STEP = 1.0 / Config.tickRate;
+
+	private World world;
+	private Pilot pilot;
+	private ViewBinder views;
+	private long seed = 0;
+
+	@Setup
+	public void setup() {
+		world = new World(GameRules.DEFAULT, Config.playerCenter, Config.baseHeight / 2, seed);
+		pilot = new BotPilot(60, 0, seed);
+		views = new ViewBinder(world.getEntities());
+		world.addListener(views);
+	}
+
+	@Benchmark
+	public int spawnInterval() {
+		long columns = views.columns;
+		while (views.columns == columns) {
+			if (world.isEnded()) {
+				// Restarts in place like the game, the views go back to their pools
+				seed++;
+				world.reset(seed);
+				pilot = new BotPilot(60, 0, seed);
+			}
+			if (pilot.shouldFlap(world)) {
+				world.flap();
+			}
+			world.step(STEP);
+		}
+		return views.active.size();
+	}
+
+	private static class View {
+		private final boolean fromTop;
+		private int entity = EntityStore.NO_ENTITY;
+		private int height;
+
+		private View(boolean fromTop) {
+			this.fromTop = fromTop;
+		}
+	}
+
+	// The bookkeeping of PipeBuilder: a pool per orientation and a linear search on removal
+	private static class ViewBinder implements WorldListener {
+		private final EntityStore entities;
+		private final ObjectPool<View> topPool = new ObjectPool<View>(() -> new View(true), Config.pipePoolSize);
+		private final ObjectPool<View> bottomPool = new ObjectPool<View>(() -> new View(false), Config.pipePoolSize);
+		private final List<View> active = new ArrayList<View>();
+		private long columns = 0;
+
+		private ViewBinder(EntityStore entities) {
+			this.entities = entities;
+		}
+
+		@Override
+		public void onEntitySpawned(int entity) {
+			int row = entities.rowOf(entity);
+			int sprite = entities.getSprite(row);
+			if (sprite == EntityStore.SPRITE_NONE) {
+				// The score zone is the last entity of a column
+				columns++;
+				return;
+			}
+			View view = (sprite == EntityStore.SPRITE_PIPE_TOP ? topPool : bottomPool).obtain();
+			view.entity = entity;
+			view.height = entities.getSpriteHeight(row);
+			active.add(view);
+		}
+
+		@Override
+		public void onEntityRemoved(int entity) {
+			for (int i = 0; i < active.size(); i++) {
+				View view = active.get(i);
+				if (view.entity == entity) {
+					active.remove(i);
+					view.entity = EntityStore.NO_ENTITY;
+					(view.fromTop ? topPool : bottomPool).release(view);
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package flappy_bird.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import flappy_bird.Config;
+import flappy_bird.batch.BotPilot;
+import flappy_bird.batch.Pilot;
+import flappy_bird.simulation.GameRules;
+import flappy_bird.simulation.World;
+
+// One fixed step of the game simulation (what SceneHandler.update advances every
+// tick) with the bot playing, so pipes spawn, move, score and get culled.
+// A new world starts when the bot dies, about once every few thousand ticks
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+	private static final double STEP = 1.0 / Config.tickRate;
+
+	private World world;
+	private Pilot pilot;
+	private long seed = 0;
+
+	@Setup
+	public void setup() {
+		newGame();
+	}
+
+	private void newGame() {
+		world = new World(GameRules.DEFAULT, Config.playerCenter, Config.baseHeight / 2, seed);
+		pilot = new BotPilot(60, 0, seed);
+		seed++;
+	}
+
+	@Benchmark
+	public World tick() {
+		if (world.isEnded()) {
+			newGame();
+		}
+		if (pilot.shouldFlap(world)) {
+			world.flap();
+		}
+		world.step(STEP);
+		return world;
+	}
+}
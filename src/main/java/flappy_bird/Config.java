@@ -8,14 +8,59 @@ public class Config {
 	public final static double gravity = 1300;
 	public final static double jumpForce = 500;
 	public final static double DEFAULT_SPEED = 250;
-	public static double currentSpeed = DEFAULT_SPEED;
 
 	public final static double emptySpace = 0.25;
 
 	public final static double pipesPerSecond = 1.3;
+	// Pipe columns kept for reuse, about three are on screen at once (-Dflappy.pipePoolSize)
+	public final static int pipePoolSize = Integer.getInteger("flappy.pipePoolSize", 4);
 	public final static int playerCenter = baseWidth / 3;
-	
-	public static int maxScore = 0;
+
+	// Scores and stats are kept per player in statsDir (-Dflappy.player, -Dflappy.statsDir)
+	public final static String player = System.getProperty("flappy.player", System.getProperty("user.name", "player"));
+	public final static String statsDir = System.getProperty("flappy.statsDir",
+			System.getProperty("user.home") + "/.flappy-bird");
+	// Shared leaderboard the scores are also sent to, none by default (-Dflappy.leaderboardUrl=http://host:8080)
+	public final static String leaderboardUrl = System.getProperty("flappy.leaderboardUrl");
+	public final static String cabinet = System.getProperty("flappy.cabinet", "local");
+
+	// Fixed simulation step, rendering interpolates between steps (-Dflappy.tickRate=60 on weak hardware)
+	public final static int tickRate = Integer.getInteger("flappy.tickRate", 120);
+	public final static int maxCatchUpSteps = Integer.getInteger("flappy.maxCatchUpSteps", 8);
+	// Longest frame the loop tries to catch up with, anything above is dropped
+	public final static double maxFrameTime = 0.25;
+	// Speed of the whole game, 0.25 to 16, changed at runtime with - and + (-Dflappy.timeScale)
+	public final static double initialTimeScale = Double.parseDouble(System.getProperty("flappy.timeScale", "1"));
+
+	// Restart (R) by rebuilding the whole scene instead of resetting it in place (-Dflappy.coldRestart=true)
+	public final static boolean coldRestart = Boolean.getBoolean("flappy.coldRestart");
+
+	// Fixes the session seed (pipes and skin) instead of taking a new one per game (-Dflappy.seed)
+	public final static Long fixedSeed = Long.getLong("flappy.seed");
+	// Folder where every game is saved as a replayable recording, none by default
+	public final static String recordingsDir = System.getProperty("flappy.recordingsDir");
+
+	// Prints the startup milestones (-Dflappy.startupProbe=true); "exit" also starts
+	// a game on its own and quits after its first frame, to time cold starts
+	public final static String startupProbe = System.getProperty("flappy.startupProbe");
+
+	// Prints decode time and retained bytes of every asset at startup
+	public final static boolean assetReport = Boolean.getBoolean("flappy.assetReport");
+
+	// Render quality: "auto" lowers it while frames take longer than 1/targetFps s and
+	// raises it back when they fit again; high, medium, low or minimal fix it (-Dflappy.quality)
+	public final static String quality = System.getProperty("flappy.quality", "auto");
+	public final static int targetFps = Integer.getInteger("flappy.targetFps", 60);
+
+	// "canvas" draws the sprites into one Canvas every frame instead of keeping a node per sprite
+	public final static boolean canvasRenderer = "canvas".equalsIgnoreCase(System.getProperty("flappy.renderMode"));
+
+	// Renders the game at baseWidth x baseHeight whatever the window size and enlarges
+	// the result by whole pixels, sharp and as cheap on a 4K screen (-Dflappy.fixedResolution=true)
+	public final static boolean fixedResolution = Boolean.getBoolean("flappy.fixedResolution");
+
+	// Draws the collision boxes on top of the scene (-Dflappy.debugColliders=true)
+	public final static boolean debugColliders = Boolean.getBoolean("flappy.debugColliders");
 
 	private Config() {
 	}
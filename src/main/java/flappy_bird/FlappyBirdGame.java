@@ -1,20 +1,54 @@
 package flappy_bird;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import flappy_bird.diagnostics.StartupProbe;
+import flappy_bird.diagnostics.StartupProbe.Milestone;
+import flappy_bird.leaderboard.LeaderboardClient;
+import flappy_bird.replay.RecordingWriter;
+import flappy_bird.stats.ScoreStore;
+import flappy_bird.utils.AssetManifest;
+import flappy_bird.utils.AssetRegistry;
 import javafx.application.Application;
-import javafx.scene.image.Image;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
 public class FlappyBirdGame extends Application {
+	private static final Logger LOGGER = Logger.getLogger(FlappyBirdGame.class.getName());
+
 	private Stage stage;
 	private GameCanvas canvas;
 
 	private MenuSceneHandler menuSceneHandler;
 	private GameSceneHandler gameSceneHandler;
 
+	// Completes once every game asset is decoded and the saved scores are read
+	private CompletableFuture<Void> gameReady;
+	private boolean gameQueued = false;
+
 	@Override
 	public void start(Stage stage) {
 		this.stage = stage;
 
+		// Decode everything once, restarts and pipe spawns reuse the shared instances.
+		// The menu only waits for its own few images, the rest decodes meanwhile
+		AssetRegistry.preload(AssetManifest.MENU);
+		CompletableFuture<Void> gameAssets = AssetRegistry.preloadAsync(AssetManifest.GAME).whenComplete((done, error) -> {
+			if (error != null) {
+				// The game asks again and fails there, with the same error
+				LOGGER.log(Level.WARNING, "Could not preload the game assets", error);
+				return;
+			}
+			StartupProbe.mark(Milestone.ASSETS_READY);
+			if (Config.assetReport) {
+				System.out.println(AssetRegistry.report());
+			}
+		});
+		// Only the game shows the saved scores, they are read meanwhile too
+		gameReady = CompletableFuture.allOf(gameAssets, ScoreStore.openAsync());
+
 		canvas = new GameCanvas();
 		stage.setScene(canvas.getScene());
 
@@ -25,9 +59,24 @@ public class FlappyBirdGame extends Application {
 
 		stage.setMinWidth(Config.baseWidth / 2);
 		stage.setMinHeight(Config.baseHeight / 2);
-		stage.getIcons().add(new Image(ClassLoader.getSystemResourceAsStream("ico/logo.png")));
+		stage.getIcons().add(AssetRegistry.getImage("ico/logo.png"));
 		stage.setTitle("Flappy Bird FXGame | Programación Avanzada");
 		stage.show();
+
+		if ("exit".equals(Config.startupProbe)) {
+			startGame();
+		}
+	}
+
+	@Override
+	public void stop() {
+		ScoreStore.getInstance().close();
+		if (Config.recordingsDir != null) {
+			RecordingWriter.getInstance().close();
+		}
+		if (Config.leaderboardUrl != null) {
+			LeaderboardClient.getInstance().close();
+		}
 	}
 
 	public GameCanvas getCanvas() {
@@ -39,6 +88,18 @@ public class FlappyBirdGame extends Application {
 	}
 
 	public void startGame() {
+		// Asked for before the assets and scores are in: starts as soon as they are, once
+		if (!gameReady.isDone()) {
+			if (!gameQueued) {
+				gameQueued = true;
+				gameReady.whenCompleteAsync((done, error) -> {
+					gameQueued = false;
+					startGame();
+				}, Platform::runLater);
+			}
+			return;
+		}
+
 		menuSceneHandler.unload();
 		gameSceneHandler = new GameSceneHandler(this);
 		gameSceneHandler.load(true);
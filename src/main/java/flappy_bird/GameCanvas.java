@@ -1,30 +1,76 @@
 package flappy_bird;
 
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Group;
 import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.transform.Scale;
 
+// Letterboxed view of the baseWidth x baseHeight game. By default the scene graph
+// itself is scaled to the window. With a fixed resolution the game lives in a
+// scene of its own, present() copies it to an image once per frame and the window
+// only shows that image, enlarged by whole pixels without smoothing
 public class GameCanvas {
 	private final Scene scene;
 	private final Group centerGroup;
 	private final Group scaleWrapper;
 	private final Scale scaleTransform;
 
+	// Fixed resolution only
+	private final ImageView frameView;
+	private final WritableImage frame;
+	private final SnapshotParameters snapshotParameters;
+
+	private boolean resizePending = false;
+
 	public GameCanvas() {
 		scaleWrapper = new Group();
-		centerGroup = new Group(scaleWrapper);
-
 		scaleWrapper.setClip(new Rectangle(Config.baseWidth, Config.baseHeight));
 
 		scaleTransform = new Scale(1, 1, 0, 0);
-		scaleWrapper.getTransforms().add(scaleTransform);
+
+		if (Config.fixedResolution) {
+			// Never shown, it only gives the game CSS and layout like a visible scene
+			new Scene(scaleWrapper, Config.baseWidth, Config.baseHeight, Color.BLACK);
+
+			frame = new WritableImage(Config.baseWidth, Config.baseHeight);
+			snapshotParameters = new SnapshotParameters();
+			snapshotParameters.setFill(Color.BLACK);
+			snapshotParameters.setViewport(new Rectangle2D(0, 0, Config.baseWidth, Config.baseHeight));
+
+			frameView = new ImageView(frame);
+			frameView.setSmooth(false);
+			centerGroup = new Group(frameView);
+		} else {
+			frame = null;
+			snapshotParameters = null;
+			frameView = null;
+
+			scaleWrapper.getTransforms().add(scaleTransform);
+			centerGroup = new Group(scaleWrapper);
+		}
 
 		scene = new Scene(centerGroup, Config.baseWidth, Config.baseHeight, Color.BLACK);
 
-		scene.widthProperty().addListener((obs, old, newVal) -> updateScale());
-		scene.heightProperty().addListener((obs, old, newVal) -> updateScale());
+		scene.widthProperty().addListener((obs, old, newVal) -> requestScale());
+		scene.heightProperty().addListener((obs, old, newVal) -> requestScale());
+	}
+
+	// A resize changes width and height one after the other, and dragging the window
+	// edge fires many of them per pulse; the scale is worked out once for all
+	private void requestScale() {
+		if (!resizePending) {
+			resizePending = true;
+			Platform.runLater(() -> {
+				resizePending = false;
+				updateScale();
+			});
+		}
 	}
 
 	private void updateScale() {
@@ -32,13 +78,30 @@ public class GameCanvas {
 		double scaleY = scene.getHeight() / Config.baseHeight;
 		double scale = Math.min(scaleX, scaleY);
 
-		scaleTransform.setX(scale);
-		scaleTransform.setY(scale);
+		if (frameView != null) {
+			// Whole pixels keep the sprites crisp, below 1x there is no choice
+			if (scale >= 1) {
+				scale = Math.floor(scale);
+			}
+			frameView.setFitWidth(Config.baseWidth * scale);
+			frameView.setFitHeight(Config.baseHeight * scale);
+		} else {
+			scaleTransform.setX(scale);
+			scaleTransform.setY(scale);
+		}
 
 		centerGroup.setTranslateX((scene.getWidth() - Config.baseWidth * scale) / 2);
 		centerGroup.setTranslateY((scene.getHeight() - Config.baseHeight * scale) / 2);
 	}
 
+	// Once per frame, after everything moved. Fixed resolution only: the snapshot
+	// costs the same whatever the size of the window
+	public void present() {
+		if (frameView != null) {
+			scaleWrapper.snapshot(snapshotParameters, frame);
+		}
+	}
+
 	public Scene getScene() {
 		return scene;
 	}
@@ -1,28 +1,42 @@
 package flappy_bird;
 
-import java.util.List;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
 
-import flappy_bird.interfaces.Collidator;
-import flappy_bird.interfaces.Collideable;
+import flappy_bird.diagnostics.FrameProfiler;
+import flappy_bird.diagnostics.SceneLoadEvent;
+import flappy_bird.diagnostics.StartupProbe;
+import flappy_bird.diagnostics.StartupProbe.Milestone;
 import flappy_bird.objects.Background;
+import flappy_bird.objects.BirdSkin;
+import flappy_bird.objects.ColliderDebugView;
 import flappy_bird.objects.FlappyBird;
 import flappy_bird.objects.FpsInfo;
 import flappy_bird.objects.Ground;
 import flappy_bird.objects.PipeBuilder;
 import flappy_bird.objects.Radio;
 import flappy_bird.objects.Score;
+import flappy_bird.leaderboard.LeaderboardClient;
+import flappy_bird.replay.Recording;
+import flappy_bird.replay.RecordingWriter;
+import flappy_bird.simulation.GameRules;
+import flappy_bird.simulation.World;
+import flappy_bird.simulation.WorldListener;
+import flappy_bird.stats.GameResult;
+import flappy_bird.stats.ScoreStore;
 import flappy_bird.utils.GameObjectBuilder;
+import flappy_bird.utils.TimeScale;
 import javafx.animation.TranslateTransition;
+import javafx.application.Platform;
 import javafx.event.EventHandler;
-import javafx.geometry.Bounds;
 import javafx.scene.Group;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.shape.Shape;
 import javafx.util.Duration;
 
-public class GameSceneHandler extends SceneHandler {
+public class GameSceneHandler extends SceneHandler implements WorldListener {
 	// Death shake animation constants
 	private static final double SHAKE_INTENSITY = 20;
 	private static final Duration SHAKE_CYCLE_DURATION = Duration.millis(50);
@@ -36,12 +50,12 @@ public class GameSceneHandler extends SceneHandler {
 	private Radio radio;
 	private FpsInfo fpsInfo;
 
+	private Recording recording;
+
 	private TranslateTransition deathShakeAnimation;
 
 	// TODO pause
 	// private boolean paused = false;
-	private boolean started = false;
-	private boolean ended = false;
 
 	public GameSceneHandler(FlappyBirdGame g) {
 		super(g);
@@ -52,7 +66,7 @@ public class GameSceneHandler extends SceneHandler {
 			@Override
 			public void handle(MouseEvent event) {
 				if (event.getButton() == MouseButton.PRIMARY) {
-					makeAction();
+					queueInput();
 				}
 			}
 		};
@@ -66,7 +80,7 @@ public class GameSceneHandler extends SceneHandler {
 				case UP:
 				case ENTER:
 				case SPACE:
-					makeAction();
+					queueInput();
 					break;
 				case R:
 					restart();
@@ -76,6 +90,7 @@ public class GameSceneHandler extends SceneHandler {
 					g.startMenu();
 					break;
 				default:
+					handleCommonKey(e.getCode());
 					break;
 				}
 			}
@@ -83,41 +98,114 @@ public class GameSceneHandler extends SceneHandler {
 	}
 	
 	public void load(boolean fullStart) {
+		SceneLoadEvent event = new SceneLoadEvent();
+		event.begin();
+
 		Group rootGroup = new Group();
 		scaleWrapper.getChildren().setAll(rootGroup);
 
 		deathShakeAnimation = initDeathShakeAnimation(rootGroup);
 
+		long seed = newSeed();
+		world = new World(GameRules.DEFAULT, Config.playerCenter, Config.baseHeight / 2, seed);
+		recording = new Recording(seed, Config.tickRate, Config.playerCenter, Config.baseHeight / 2, GameRules.DEFAULT);
+
 		score = new Score();
-		player = new FlappyBird(Config.playerCenter, Config.baseHeight / 2, score);
-		background = new Background();
-		ground = new Ground();
-		pipeBuilder = new PipeBuilder();
-		fpsInfo = new FpsInfo();
-		radio = new Radio(Config.playerCenter, Config.baseHeight / 2, player);
+		player = new FlappyBird(world.getBird(), BirdSkin.random(new Random(seed)));
+		background = new Background(world);
+		ground = new Ground(world.getGround());
+		pipeBuilder = new PipeBuilder(world);
+		fpsInfo = new FpsInfo(world);
+		radio = new Radio(Config.playerCenter, Config.baseHeight / 2, player, world);
+
+		world.addListener(player);
+		world.addListener(score);
+		world.addListener(pipeBuilder);
+		world.addListener(this);
 
 		// Add to builder
 		GameObjectBuilder gameOB = GameObjectBuilder.getInstance();
 		gameOB.setRootNode(rootGroup);
-		gameOB.add(background, radio, player, ground, score, fpsInfo, pipeBuilder);
+		gameOB.add(background, radio, player, ground, score, fpsInfo);
+		pipeBuilder.prewarm();
+		gameOB.flush();
+		if (Config.debugColliders) {
+			gameOB.add(new ColliderDebugView(world));
+		}
 
 
 		if (fullStart) {
 			addTimeEventsAnimationTimer();
 			addInputEvents();
 		}
+
+		commitSceneEvent(event, "game", fullStart ? "load" : "reload");
 	}
 	
+	// Every random choice of the session comes from this seed, so it can be replayed
+	private static long newSeed() {
+		return Config.fixedSeed != null ? Config.fixedSeed : System.nanoTime();
+	}
+
 	public void restart() {
-		cleanData();
-		load(false);
+		SceneLoadEvent event = new SceneLoadEvent();
+		event.begin();
+		long start = System.nanoTime();
+
+		inputQueue.clear();
+		if (Config.coldRestart) {
+			cleanData();
+			load(false);
+		} else {
+			finishGame();
+			reset();
+		}
+
+		FrameProfiler.getInstance().recordRestartLatency(System.nanoTime() - start);
+		commitSceneEvent(event, "game", Config.coldRestart ? "cold restart" : "restart");
+	}
+
+	// Warm restart: the same world, objects and nodes go back to their initial state,
+	// nothing is decoded or rasterized again
+	private void reset() {
+		long seed = newSeed();
+		// Pipes go back to their pools through onEntityRemoved
+		world.reset(seed);
+		recording = new Recording(seed, Config.tickRate, Config.playerCenter, Config.baseHeight / 2, GameRules.DEFAULT);
+
+		deathShakeAnimation.stop();
+		deathShakeAnimation.getNode().setTranslateX(0);
+
+		player.reset(BirdSkin.random(new Random(seed)));
+		score.reset();
+		background.reset();
+
+		radio.reset();
+		GameObjectBuilder.getInstance().flush();
 	}
 	
 	private void cleanData() {
+		finishGame();
 		GameObjectBuilder.getInstance().removeAll();
-		ended = false;
-		started = false;
-		Config.currentSpeed = Config.DEFAULT_SPEED;
+	}
+
+	// On death, or when the game is left before it
+	private void finishGame() {
+		if (recording == null || recording.isFinished() || !world.isStarted()) {
+			return;
+		}
+		ScoreStore.getInstance().recordGame(new GameResult(Config.player, world.getScore(),
+				(long) (world.getTime() * 1000), world.getDeathCause(), System.currentTimeMillis()));
+		if (Config.leaderboardUrl != null) {
+			LeaderboardClient.getInstance().submit(Config.player, world.getScore());
+		}
+
+		recording.finish(world.getTick(), world.getScore());
+		if (Config.recordingsDir != null) {
+			Path file = Paths.get(Config.recordingsDir,
+					"run-" + System.currentTimeMillis() + "-" + world.getScore() + ".fbr");
+			RecordingWriter.getInstance().save(recording, file);
+		}
 	}
 
 	private TranslateTransition initDeathShakeAnimation(Group rootGroup) {
@@ -126,73 +214,46 @@ public class GameSceneHandler extends SceneHandler {
 		shake.setByX(SHAKE_INTENSITY);
 		shake.setCycleCount(SHAKE_CYCLE_COUNT);
 		shake.setAutoReverse(true);
+		TimeScale.getInstance().register(shake);
 		shake.setOnFinished(event -> {
 			rootGroup.setTranslateX(0);
 		});
 		return shake;
 	}
 
-	private void makeAction() {
-		if (!started) {
-			started = true;
-			pipeBuilder.startBuilding(2 * NANOS_IN_SECOND);
+	@Override
+	protected void applyInput(double stepOffset) {
+		if (!world.isStarted()) {
 			radio.start();
 		}
-		player.push();
+		// Rounded as it is recorded, so a replay applies exactly the same flap
+		int offsetUnits = Recording.toUnits(stepOffset);
+		recording.addFlap(world.getTick(), offsetUnits);
+		world.flap(Recording.toStepOffset(offsetUnits));
 	}
 
-	public void update(double delta) {
-		super.update(delta);
-
-		checkColliders();
-
-		if (!ended) {
-			if (player.isDead()) {
-				ended = true;
-				pipeBuilder.stopBuilding();
-				Config.currentSpeed = 0;
-
-				deathShakeAnimation.playFromStart();
-			}
-		}
+	@Override
+	public void onDeath() {
+		deathShakeAnimation.playFromStart();
+		finishGame();
 	}
-
-	private void checkColliders() {
-		List<Collidator> collidators = GameObjectBuilder.getInstance().getCollidators();
-		List<Collideable> collideables = GameObjectBuilder.getInstance().getCollideables();
-
-		for (int i = 0; i < collidators.size(); i++) {
-			Collidator collidator = collidators.get(i);
-			for (int j = i + 1; j < collidators.size(); j++) {
-				Collidator otherCollidator = collidators.get(j);
-				Shape intersect = Shape.intersect(collidator.getCollider(), otherCollidator.getCollider());
-				if (intersect.getBoundsInLocal().getWidth() != -1) {
-					collidator.collide(otherCollidator);
-					otherCollidator.collide(collidator);
-				}
-			}
-
-			for (int j = 0; j < collideables.size(); j++) {
-				Collideable collideable = collideables.get(j);
-				Shape intersect = Shape.intersect(collidator.getCollider(), collideable.getCollider());
-
-				if (intersect.getBoundsInLocal().getWidth() != -1) {
-					collidator.collide(collideable);
-				} else {
-					// Check contains
-					Bounds collideableBounds = collideable.getCollider().getBoundsInLocal();
-					Bounds collidatorBounds = collidator.getCollider().getBoundsInLocal();
-					if (collideableBounds.contains(collidatorBounds.getCenterX(), collidatorBounds.getCenterY())) {
-						collidator.collide(collideable);
-					}
-				}
-			}
+	
+	@Override
+	protected void onFirstFrame() {
+		StartupProbe.mark(Milestone.GAME_FRAME);
+		if ("exit".equals(Config.startupProbe)) {
+			Platform.exit();
 		}
 	}
-	
+
 	public void unload() {
+		SceneLoadEvent event = new SceneLoadEvent();
+		event.begin();
+
 		cleanData();
 		super.unload();
+
+		commitSceneEvent(event, "game", "unload");
 	}
 
 }
@@ -1,11 +1,19 @@
 package flappy_bird;
 
+import java.util.Random;
+
+import flappy_bird.diagnostics.SceneLoadEvent;
+import flappy_bird.diagnostics.StartupProbe;
+import flappy_bird.diagnostics.StartupProbe.Milestone;
 import flappy_bird.objects.Background;
+import flappy_bird.objects.BirdSkin;
 import flappy_bird.objects.FlappyBird;
 import flappy_bird.objects.FpsInfo;
 import flappy_bird.objects.Ground;
 import flappy_bird.objects.menu.TextoComenzar;
 import flappy_bird.objects.menu.Title;
+import flappy_bird.simulation.GameRules;
+import flappy_bird.simulation.World;
 import flappy_bird.utils.GameObjectBuilder;
 import javafx.event.EventHandler;
 import javafx.scene.Group;
@@ -51,6 +59,7 @@ public class MenuSceneHandler extends SceneHandler {
 					System.exit(0);
 					break;
 				default:
+					handleCommonKey(e.getCode());
 					break;
 				}
 			}
@@ -58,15 +67,20 @@ public class MenuSceneHandler extends SceneHandler {
 	}
 
 	public void load() {
+		SceneLoadEvent event = new SceneLoadEvent();
+		event.begin();
+
 		boolean fullStart = true;
 		Group baseGroup = new Group();
 		scaleWrapper.getChildren().setAll(baseGroup);
 		
-		player = new FlappyBird(Config.baseWidth - 75, Config.baseHeight / 3, null);
+		// The menu world is never flapped: the bird idles while the ground scrolls
+		world = new World(GameRules.DEFAULT, Config.baseWidth - 75, Config.baseHeight / 3, 0);
+		player = new FlappyBird(world.getBird(), BirdSkin.random(new Random()));
 		
-		background = new Background();
-		ground = new Ground();
-		fpsInfo = new FpsInfo();
+		background = new Background(world);
+		ground = new Ground(world.getGround());
+		fpsInfo = new FpsInfo(world);
 
 		title = new Title();
 		textoComenzar = new TextoComenzar();
@@ -74,15 +88,28 @@ public class MenuSceneHandler extends SceneHandler {
 		GameObjectBuilder gameOB = GameObjectBuilder.getInstance();
 		gameOB.setRootNode(baseGroup);
 		gameOB.add(background, player, ground, title, textoComenzar, fpsInfo);
+		gameOB.flush();
 
 		if (fullStart) {
 			addTimeEventsAnimationTimer();
 			addInputEvents();
 		}
+
+		commitSceneEvent(event, "menu", "load");
+	}
+
+	@Override
+	protected void onFirstFrame() {
+		StartupProbe.mark(Milestone.MENU_FRAME);
 	}
 
 	public void unload() {
+		SceneLoadEvent event = new SceneLoadEvent();
+		event.begin();
+
 		scaleWrapper.getChildren().clear();
 		super.unload();
+
+		commitSceneEvent(event, "menu", "unload");
 	}
 }
@@ -2,47 +2,100 @@ package flappy_bird;
 
 import java.util.List;
 
+import flappy_bird.diagnostics.FrameProfiler;
+import flappy_bird.diagnostics.FrameProfiler.Phase;
+import flappy_bird.diagnostics.SceneLoadEvent;
+import flappy_bird.input.InputQueue;
+import flappy_bird.interfaces.Interpolable;
 import flappy_bird.interfaces.Updatable;
+import flappy_bird.simulation.World;
 import flappy_bird.utils.GameObjectBuilder;
+import flappy_bird.utils.QualityGovernor;
+import flappy_bird.utils.TimeScale;
 import javafx.animation.AnimationTimer;
 import javafx.event.EventHandler;
 import javafx.scene.Group;
 import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 
 public abstract class SceneHandler {
 	protected static final long NANOS_IN_SECOND = 1_000_000_000;
 	protected static final double NANOS_IN_SECOND_D = 1_000_000_000.0;
+	protected static final double FIXED_STEP = 1.0 / Config.tickRate;
+	private static final long FIXED_STEP_NANOS = (long) (FIXED_STEP * NANOS_IN_SECOND_D);
+	private static final int INPUT_QUEUE_SIZE = 64;
 
 	protected AnimationTimer gameTimer;
 	private long previousNanoFrame;
 	private boolean firstFrame;
+	private boolean rendered;
+	private double accumulator;
 	protected FlappyBirdGame g;
+	protected World world;
 
 	protected Scene scene;
+	private final GameCanvas canvas;
 	protected Group scaleWrapper;
 
 	protected EventHandler<KeyEvent> keyEventHandler;
 	protected EventHandler<MouseEvent> mouseEventHandler;
 
+	// Inputs wait here with their arrival time until the step that covers that time
+	protected final InputQueue inputQueue = new InputQueue(INPUT_QUEUE_SIZE);
+	private final long[] appliedInputs = new long[INPUT_QUEUE_SIZE];
+	private int appliedCount = 0;
+
 	public SceneHandler(FlappyBirdGame g) {
 		this.g = g;
-		GameCanvas canvas = g.getCanvas();
+		this.canvas = g.getCanvas();
 		this.scene = canvas.getScene();
 		this.scaleWrapper = canvas.getScaleWrapper();
 		defineEventHandlers();
 	}
 	
 	public void update(double delta) {
-		List<Updatable> updatables = GameObjectBuilder.getInstance().getUpdatables();
-		for (Updatable updatable : updatables) {
-			updatable.update(delta);
+		FrameProfiler profiler = FrameProfiler.getInstance();
+		world.setTimed(profiler.isEnabled());
+		long mark = profiler.start();
+
+		world.step(delta);
+		mark = profiler.lap(Phase.STEP, mark);
+		profiler.add(Phase.COLLISIONS, world.getCollisionNanos());
+
+		// Nodes only follow the world state
+		GameObjectBuilder gameOB = GameObjectBuilder.getInstance();
+		List<Updatable> updatables = gameOB.getUpdatables();
+		for (int i = 0; i < updatables.size(); i++) {
+			updatables.get(i).update(delta);
+		}
+		mark = profiler.lap(Phase.UPDATABLES, mark);
+
+		// Objects added or removed during the step join or leave here
+		gameOB.flush();
+		profiler.lap(Phase.FLUSH, mark);
+	}
+
+	public void render(double alpha) {
+		FrameProfiler profiler = FrameProfiler.getInstance();
+		long mark = profiler.start();
+
+		GameObjectBuilder gameOB = GameObjectBuilder.getInstance();
+		List<Interpolable> interpolables = gameOB.getInterpolables();
+		for (int i = 0; i < interpolables.size(); i++) {
+			interpolables.get(i).interpolate(alpha);
 		}
+		gameOB.draw();
+		canvas.present();
+		profiler.lap(Phase.RENDER, mark);
 	}
 
 	protected void addTimeEventsAnimationTimer() {
 		firstFrame = true;
+		rendered = false;
+		accumulator = 0;
+		inputQueue.clear();
 		gameTimer = new AnimationTimer() {
 			@Override
 			public void handle(long currentNano) {
@@ -51,15 +104,126 @@ public abstract class SceneHandler {
 					firstFrame = false;
 					return;
 				}
+				// The frame cap of low tiers skips some pulses, only drawn frames are measured
+				QualityGovernor quality = QualityGovernor.getInstance();
+				if (quality.skipFrame(currentNano - previousNanoFrame)) {
+					return;
+				}
+				quality.recordFrame(currentNano - previousNanoFrame);
+				FrameProfiler profiler = FrameProfiler.getInstance();
+				long mark = profiler.start();
+				profiler.add(Phase.PULSE, currentNano - previousNanoFrame);
+
 				double deltaTime = (currentNano - previousNanoFrame) / NANOS_IN_SECOND_D;
 				previousNanoFrame = currentNano;
-				update(deltaTime);
+				step(deltaTime, currentNano);
+				if (!rendered) {
+					rendered = true;
+					onFirstFrame();
+				}
+
+				profiler.lap(Phase.FRAME, mark);
+				profiler.endFrame();
 			}
 		};
 
 		gameTimer.start();
 	}
 
+	// Fixed timestep: the simulation always advances in FIXED_STEP increments and
+	// the leftover time is only used to interpolate what is shown
+	private void step(double frameTime, long frameNano) {
+		// Spiral of death guard, a long pause is not replayed. The time scale only
+		// changes how much simulation time a frame is worth, steps stay FIXED_STEP long
+		double timeScale = TimeScale.getInstance().get();
+		accumulator += Math.min(frameTime, Config.maxFrameTime) * timeScale;
+
+		// Wall clock time the next step starts at: the simulation lags by the accumulator
+		long stepNanos = (long) (FIXED_STEP_NANOS / timeScale);
+		long stepStart = frameNano - (long) (accumulator / timeScale * NANOS_IN_SECOND_D);
+		// Fast-forward needs more steps per frame to keep up
+		int maxSteps = (int) Math.ceil(Config.maxCatchUpSteps * Math.max(1, timeScale));
+
+		int steps = 0;
+		while (accumulator >= FIXED_STEP && steps < maxSteps) {
+			applyInputs(stepStart, stepNanos);
+			update(FIXED_STEP);
+			accumulator -= FIXED_STEP;
+			stepStart += stepNanos;
+			steps++;
+		}
+		if (accumulator >= FIXED_STEP) {
+			// Could not catch up, drop the backlog instead of falling further behind
+			accumulator %= FIXED_STEP;
+		}
+
+		render(accumulator / FIXED_STEP);
+		recordInputLatency();
+	}
+
+	// Inputs that arrived before the end of this step are applied inside it, at
+	// the point of the step matching their arrival time
+	private void applyInputs(long stepStart, long stepNanos) {
+		long stepEnd = stepStart + stepNanos;
+		long timestamp;
+		while ((timestamp = inputQueue.peek()) != InputQueue.EMPTY && timestamp < stepEnd) {
+			inputQueue.poll();
+			applyInput((timestamp - stepStart) / (double) stepNanos);
+			if (appliedCount < appliedInputs.length) {
+				appliedInputs[appliedCount++] = timestamp;
+			}
+		}
+	}
+
+	// The pulse shows this frame right after the timer returns, close enough to "visible"
+	private void recordInputLatency() {
+		if (appliedCount > 0) {
+			long now = System.nanoTime();
+			FrameProfiler profiler = FrameProfiler.getInstance();
+			for (int i = 0; i < appliedCount; i++) {
+				profiler.recordInputLatency(now - appliedInputs[i]);
+			}
+			appliedCount = 0;
+		}
+	}
+
+	// Once per timer, after the first frame is rendered
+	protected void onFirstFrame() {
+	}
+
+	// Keys shared by every scene, true when the key was used
+	protected boolean handleCommonKey(KeyCode code) {
+		switch (code) {
+		case F3:
+			FrameProfiler.getInstance().toggle();
+			return true;
+		case MINUS:
+		case SUBTRACT:
+			TimeScale.getInstance().slower();
+			return true;
+		case PLUS:
+		case EQUALS:
+		case ADD:
+			TimeScale.getInstance().faster();
+			return true;
+		case DIGIT0:
+		case NUMPAD0:
+			TimeScale.getInstance().reset();
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	// Called on the FX thread by the input handlers
+	protected void queueInput() {
+		inputQueue.offer(System.nanoTime());
+	}
+
+	// stepOffset: [0, 1) fraction of the coming step at which the input happened
+	protected void applyInput(double stepOffset) {
+	}
+
 	protected void addInputEvents() {
 		scene.addEventHandler(KeyEvent.KEY_PRESSED, keyEventHandler);
 		scene.addEventHandler(MouseEvent.MOUSE_PRESSED, mouseEventHandler);
@@ -72,6 +236,15 @@ public abstract class SceneHandler {
 	
 	protected abstract void defineEventHandlers();
 
+	protected static void commitSceneEvent(SceneLoadEvent event, String scene, String action) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.scene = scene;
+			event.action = action;
+			event.commit();
+		}
+	}
+
 	protected void unload() {
 		GameObjectBuilder.getInstance().removeAll();
 		gameTimer.stop();
@@ -0,0 +1,94 @@
+package flappy_bird.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import flappy_bird.Config;
+import flappy_bird.simulation.DeathCause;
+import flappy_bird.simulation.GameRules;
+
+// Plays many headless games for every combination of the given rules and prints
+// one line of results per combination, e.g.:
+//   java -cp target/classes flappy_bird.batch.BatchRunner games=100000 gravity=1100,1300,1500 emptySpace=0.2,0.25
+// Options: games, seed, maxTime, aim, jitter, threads and the rule lists gravity,
+// jumpForce, speed, emptySpace, pipesPerSecond (defaults come from Config)
+public class BatchRunner {
+
+	public static void main(String[] args) {
+		Map<String, String> options = new HashMap<String, String>();
+		for (String arg : args) {
+			int equals = arg.indexOf('=');
+			if (equals < 0) {
+				throw new IllegalArgumentException("Expected key=value, got " + arg);
+			}
+			options.put(arg.substring(0, equals), arg.substring(equals + 1));
+		}
+
+		int games = Integer.parseInt(options.getOrDefault("games", "10000"));
+		long seed = Long.parseLong(options.getOrDefault("seed", "0"));
+		double maxTime = Double.parseDouble(options.getOrDefault("maxTime", "300"));
+		double aim = Double.parseDouble(options.getOrDefault("aim", "60"));
+		double jitter = Double.parseDouble(options.getOrDefault("jitter", "0"));
+		int threads = Integer.parseInt(options.getOrDefault("threads",
+				String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+		List<GameRules> grid = new ArrayList<GameRules>();
+		for (double gravity : values(options, "gravity", Config.gravity)) {
+			for (double jumpForce : values(options, "jumpForce", Config.jumpForce)) {
+				for (double speed : values(options, "speed", Config.DEFAULT_SPEED)) {
+					for (double emptySpace : values(options, "emptySpace", Config.emptySpace)) {
+						for (double pipesPerSecond : values(options, "pipesPerSecond", Config.pipesPerSecond)) {
+							grid.add(new GameRules(gravity, jumpForce, speed, emptySpace, pipesPerSecond));
+						}
+					}
+				}
+			}
+		}
+
+		// The bot of each game gets its own seed, derived from the world seed
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		List<ForkJoinTask<BatchStats>> tasks = new ArrayList<ForkJoinTask<BatchStats>>();
+		long start = System.nanoTime();
+		for (GameRules rules : grid) {
+			tasks.add(pool.submit(new BatchTask(rules, seed, games, gameSeed -> new BotPilot(aim, jitter, ~gameSeed),
+					maxTime)));
+		}
+
+		System.out.println("gravity\tjump\tspeed\tgap\tpipeEvery\tgames\tavgScore\tp50\tp90\tmax\tavgTime\tpipe%\tground%\ttimeout%");
+		long totalGames = 0;
+		for (int i = 0; i < grid.size(); i++) {
+			GameRules rules = grid.get(i);
+			BatchStats stats = tasks.get(i).join();
+			totalGames += stats.getGames();
+			System.out.println(String.format(Locale.ROOT,
+					"%.0f\t%.0f\t%.0f\t%.3f\t%.2f\t%d\t%.2f\t%d\t%d\t%d\t%.1f\t%.1f\t%.1f\t%.1f", rules.getGravity(),
+					rules.getJumpForce(), rules.getSpeed(), rules.getEmptySpace(), rules.getPipesPerSecond(),
+					stats.getGames(), stats.getAverageScore(), stats.getScorePercentile(0.5),
+					stats.getScorePercentile(0.9), stats.getMaxScore(), stats.getAverageSurvival(),
+					stats.getDeathRatio(DeathCause.PIPE) * 100, stats.getDeathRatio(DeathCause.GROUND) * 100,
+					stats.getDeathRatio(DeathCause.NONE) * 100));
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(String.format(Locale.ROOT, "%d games in %.2f s (%.0f games/s, %d threads)", totalGames,
+				seconds, totalGames / seconds, threads));
+		pool.shutdown();
+	}
+
+	private static double[] values(Map<String, String> options, String key, double defaultValue) {
+		String list = options.get(key);
+		if (list == null) {
+			return new double[] { defaultValue };
+		}
+		String[] parts = list.split(",");
+		double[] values = new double[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			values[i] = Double.parseDouble(parts[i].trim());
+		}
+		return values;
+	}
+}
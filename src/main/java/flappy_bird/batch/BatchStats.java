@@ -0,0 +1,87 @@
+package flappy_bird.batch;
+
+import flappy_bird.simulation.DeathCause;
+import flappy_bird.simulation.World;
+
+// Results of a group of games. Each task fills its own instance and the instances
+// are merged on join, so no counter is ever shared between threads
+public class BatchStats {
+	// Scores above this share the last bucket of the histogram
+	private static final int MAX_TRACKED_SCORE = 1024;
+
+	private long games = 0;
+	private long scoreSum = 0;
+	private int maxScore = 0;
+	private double survivalSum = 0;
+	private double maxSurvival = 0;
+	// Indexed by DeathCause, NONE counts the games that reached the time limit
+	private final long[] deaths = new long[DeathCause.values().length];
+	private final long[] scoreHistogram = new long[MAX_TRACKED_SCORE + 1];
+
+	void record(World world) {
+		int score = world.getScore();
+		games++;
+		scoreSum += score;
+		maxScore = Math.max(maxScore, score);
+		survivalSum += world.getTime();
+		maxSurvival = Math.max(maxSurvival, world.getTime());
+		deaths[world.getDeathCause().ordinal()]++;
+		scoreHistogram[Math.min(score, MAX_TRACKED_SCORE)]++;
+	}
+
+	BatchStats merge(BatchStats other) {
+		games += other.games;
+		scoreSum += other.scoreSum;
+		maxScore = Math.max(maxScore, other.maxScore);
+		survivalSum += other.survivalSum;
+		maxSurvival = Math.max(maxSurvival, other.maxSurvival);
+		for (int i = 0; i < deaths.length; i++) {
+			deaths[i] += other.deaths[i];
+		}
+		for (int i = 0; i < scoreHistogram.length; i++) {
+			scoreHistogram[i] += other.scoreHistogram[i];
+		}
+		return this;
+	}
+
+	public long getGames() {
+		return games;
+	}
+
+	public double getAverageScore() {
+		return games == 0 ? 0 : scoreSum / (double) games;
+	}
+
+	public int getMaxScore() {
+		return maxScore;
+	}
+
+	// percentile in [0, 1]
+	public int getScorePercentile(double percentile) {
+		long rank = (long) Math.ceil(percentile * games);
+		long seen = 0;
+		for (int score = 0; score < scoreHistogram.length; score++) {
+			seen += scoreHistogram[score];
+			if (seen >= rank && seen > 0) {
+				return score;
+			}
+		}
+		return 0;
+	}
+
+	public double getAverageSurvival() {
+		return games == 0 ? 0 : survivalSum / games;
+	}
+
+	public double getMaxSurvival() {
+		return maxSurvival;
+	}
+
+	public long getDeaths(DeathCause cause) {
+		return deaths[cause.ordinal()];
+	}
+
+	public double getDeathRatio(DeathCause cause) {
+		return games == 0 ? 0 : deaths[cause.ordinal()] / (double) games;
+	}
+}
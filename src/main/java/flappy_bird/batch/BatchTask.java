@@ -0,0 +1,62 @@
+package flappy_bird.batch;
+
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+import flappy_bird.Config;
+import flappy_bird.simulation.GameRules;
+import flappy_bird.simulation.World;
+
+// Plays the games with seeds [firstSeed, firstSeed + games), splitting the range
+// in halves until it is small enough to run on one worker
+public class BatchTask extends RecursiveTask<BatchStats> {
+	private static final long serialVersionUID = 1L;
+
+	private static final int GAMES_PER_LEAF = 64;
+	private static final double STEP = 1.0 / Config.tickRate;
+
+	private final GameRules rules;
+	private final long firstSeed;
+	private final int games;
+	private final LongFunction<Pilot> pilots;
+	private final double maxTime;
+
+	// pilots creates the input of the game with the given seed
+	public BatchTask(GameRules rules, long firstSeed, int games, LongFunction<Pilot> pilots, double maxTime) {
+		this.rules = rules;
+		this.firstSeed = firstSeed;
+		this.games = games;
+		this.pilots = pilots;
+		this.maxTime = maxTime;
+	}
+
+	@Override
+	protected BatchStats compute() {
+		if (games <= GAMES_PER_LEAF) {
+			BatchStats stats = new BatchStats();
+			for (int i = 0; i < games; i++) {
+				stats.record(play(rules, firstSeed + i, pilots.apply(firstSeed + i), maxTime));
+			}
+			return stats;
+		}
+
+		int half = games / 2;
+		BatchTask left = new BatchTask(rules, firstSeed, half, pilots, maxTime);
+		BatchTask right = new BatchTask(rules, firstSeed + half, games - half, pilots, maxTime);
+		left.fork();
+		BatchStats stats = right.compute();
+		return stats.merge(left.join());
+	}
+
+	// Same world, collision and spawning code as the game, stepped as fast as possible
+	public static World play(GameRules rules, long seed, Pilot pilot, double maxTime) {
+		World world = new World(rules, Config.playerCenter, Config.baseHeight / 2, seed);
+		while (!world.isEnded() && world.getTime() < maxTime) {
+			if (pilot.shouldFlap(world)) {
+				world.flap();
+			}
+			world.step(STEP);
+		}
+		return world;
+	}
+}
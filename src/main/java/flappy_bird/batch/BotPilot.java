@@ -0,0 +1,49 @@
+package flappy_bird.batch;
+
+import java.util.Random;
+
+import flappy_bird.Config;
+import flappy_bird.simulation.BirdState;
+import flappy_bird.simulation.EntityStore;
+import flappy_bird.simulation.World;
+
+// Flaps whenever the bird falls below the gap of the next pipe. The jitter adds
+// gaussian noise (in pixels) to that decision so runs look less like a perfect player
+public class BotPilot implements Pilot {
+	private final double aim;
+	private final double jitter;
+	private final Random random;
+
+	public BotPilot(double aim, double jitter, long seed) {
+		this.aim = aim;
+		this.jitter = jitter;
+		this.random = new Random(seed);
+	}
+
+	@Override
+	public boolean shouldFlap(World world) {
+		if (!world.isStarted()) {
+			return true;
+		}
+		BirdState bird = world.getBird();
+		if (bird.getVelY() <= 0) {
+			return false;
+		}
+
+		// Middle of the playable area until a pipe shows up
+		double target = (Config.baseHeight - Config.groundHeight) / 2;
+		double nearestX = Double.MAX_VALUE;
+		double birdLeft = bird.getBounds().getMinX();
+		EntityStore entities = world.getEntities();
+		for (int row = 0; row < entities.size(); row++) {
+			if (entities.getSprite(row) == EntityStore.SPRITE_PIPE_BOTTOM && entities.getMaxX(row) > birdLeft
+					&& entities.getPosX(row) < nearestX) {
+				nearestX = entities.getPosX(row);
+				target = entities.getMinY(row) - aim;
+			}
+		}
+
+		double noise = jitter > 0 ? random.nextGaussian() * jitter : 0;
+		return bird.getY() + noise > target;
+	}
+}
@@ -0,0 +1,8 @@
+package flappy_bird.batch;
+
+import flappy_bird.simulation.World;
+
+// Input of a simulated game, asked once per tick before the world steps
+public interface Pilot {
+	public boolean shouldFlap(World world);
+}
@@ -0,0 +1,23 @@
+package flappy_bird.batch;
+
+import flappy_bird.simulation.World;
+
+// Flaps on a fixed list of ticks (ascending), e.g. inputs taken from a real game
+public class ScriptedPilot implements Pilot {
+	private final long[] flapTicks;
+	private int next = 0;
+
+	public ScriptedPilot(long... flapTicks) {
+		this.flapTicks = flapTicks;
+	}
+
+	@Override
+	public boolean shouldFlap(World world) {
+		boolean flap = false;
+		while (next < flapTicks.length && flapTicks[next] <= world.getTick()) {
+			flap = flapTicks[next] == world.getTick();
+			next++;
+		}
+		return flap;
+	}
+}
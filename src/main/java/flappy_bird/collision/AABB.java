@@ -0,0 +1,70 @@
+package flappy_bird.collision;
+
+// Axis aligned bounding box kept as plain doubles so overlap tests never allocate
+public class AABB {
+	private double minX;
+	private double minY;
+	private double maxX;
+	private double maxY;
+
+	public AABB(double x, double y, double width, double height) {
+		set(x, y, width, height);
+	}
+
+	public void set(double x, double y, double width, double height) {
+		minX = x;
+		minY = y;
+		maxX = x + width;
+		maxY = y + height;
+	}
+
+	public void setX(double x) {
+		maxX = x + (maxX - minX);
+		minX = x;
+	}
+
+	public void setY(double y) {
+		maxY = y + (maxY - minY);
+		minY = y;
+	}
+
+	public boolean intersects(AABB other) {
+		return minX < other.maxX && other.minX < maxX && minY < other.maxY && other.minY < maxY;
+	}
+
+	public boolean contains(double x, double y) {
+		return x >= minX && x <= maxX && y >= minY && y <= maxY;
+	}
+
+	public double getMinX() {
+		return minX;
+	}
+
+	public double getMinY() {
+		return minY;
+	}
+
+	public double getMaxX() {
+		return maxX;
+	}
+
+	public double getMaxY() {
+		return maxY;
+	}
+
+	public double getWidth() {
+		return maxX - minX;
+	}
+
+	public double getHeight() {
+		return maxY - minY;
+	}
+
+	public double getCenterX() {
+		return (minX + maxX) / 2;
+	}
+
+	public double getCenterY() {
+		return (minY + maxY) / 2;
+	}
+}
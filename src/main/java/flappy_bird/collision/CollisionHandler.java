@@ -0,0 +1,6 @@
+package flappy_bird.collision;
+
+public interface CollisionHandler {
+	// a and b are the ids returned by CollisionSystem.add, a is always a collidator
+	public void onCollision(int a, int b);
+}
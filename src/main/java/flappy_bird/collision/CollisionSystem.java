@@ -0,0 +1,188 @@
+package flappy_bird.collision;
+
+import java.util.Arrays;
+
+// Sweep and prune over the x axis: the world only scrolls horizontally, so boxes
+// sorted by minX let us skip every pair that cannot overlap before the AABB test.
+// Boxes are registered each pass with add() and reported back by id
+public class CollisionSystem {
+	private static final int INITIAL_CAPACITY = 32;
+
+	private double[] minX = new double[INITIAL_CAPACITY];
+	private double[] minY = new double[INITIAL_CAPACITY];
+	private double[] maxX = new double[INITIAL_CAPACITY];
+	private double[] maxY = new double[INITIAL_CAPACITY];
+	private boolean[] collidatorFlags = new boolean[INITIAL_CAPACITY];
+	private int[] order = new int[INITIAL_CAPACITY];
+	private int[] active = new int[INITIAL_CAPACITY];
+	private int count;
+	private int collidatorCount;
+
+	// Counters of the last pass and since the last reset
+	private int candidatePairs;
+	private int hits;
+	private int bruteForcePairs;
+	private long totalCandidatePairs;
+	private long totalHits;
+	private long totalBruteForcePairs;
+
+	public void clear() {
+		count = 0;
+		collidatorCount = 0;
+	}
+
+	public int add(AABB box, boolean collidator) {
+		return add(box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY(), collidator);
+	}
+
+	// Collidators collide with everything, plain boxes only with collidators
+	public int add(double boxMinX, double boxMinY, double boxMaxX, double boxMaxY, boolean collidator) {
+		ensureCapacity(count + 1);
+		int id = count++;
+		minX[id] = boxMinX;
+		minY[id] = boxMinY;
+		maxX[id] = boxMaxX;
+		maxY[id] = boxMaxY;
+		collidatorFlags[id] = collidator;
+		if (collidator) {
+			collidatorCount++;
+		}
+		return id;
+	}
+
+	public void detect(CollisionHandler handler) {
+		sortByMinX();
+		sweep(handler);
+
+		bruteForcePairs = collidatorCount * (collidatorCount - 1) / 2 + collidatorCount * (count - collidatorCount);
+		totalCandidatePairs += candidatePairs;
+		totalHits += hits;
+		totalBruteForcePairs += bruteForcePairs;
+	}
+
+	// Insertion sort: boxes are added in spawn order and pipes spawn on the right,
+	// so the input is almost sorted already and this stays close to O(n)
+	private void sortByMinX() {
+		for (int i = 0; i < count; i++) {
+			order[i] = i;
+		}
+		for (int i = 1; i < count; i++) {
+			int id = order[i];
+			double boxMinX = minX[id];
+			int j = i - 1;
+			while (j >= 0 && minX[order[j]] > boxMinX) {
+				order[j + 1] = order[j];
+				j--;
+			}
+			order[j + 1] = id;
+		}
+	}
+
+	private void sweep(CollisionHandler handler) {
+		candidatePairs = 0;
+		hits = 0;
+		int activeCount = 0;
+
+		for (int i = 0; i < count; i++) {
+			int id = order[i];
+
+			// Drop the boxes that end before this one starts
+			int kept = 0;
+			for (int k = 0; k < activeCount; k++) {
+				if (maxX[active[k]] >= minX[id]) {
+					active[kept++] = active[k];
+				}
+			}
+			activeCount = kept;
+
+			for (int k = 0; k < activeCount; k++) {
+				int other = active[k];
+				// Two plain boxes never interact
+				if (collidatorFlags[id] || collidatorFlags[other]) {
+					candidatePairs++;
+					narrowPhase(other, id, handler);
+				}
+			}
+
+			active[activeCount++] = id;
+		}
+	}
+
+	private void narrowPhase(int a, int b, CollisionHandler handler) {
+		if (collidatorFlags[a] && collidatorFlags[b]) {
+			if (intersects(a, b)) {
+				hits++;
+				handler.onCollision(a, b);
+				handler.onCollision(b, a);
+			}
+		} else if (collidatorFlags[a]) {
+			collide(a, b, handler);
+		} else {
+			collide(b, a, handler);
+		}
+	}
+
+	private void collide(int collidator, int other, CollisionHandler handler) {
+		// Containment fallback kept from the old Shape based check
+		if (intersects(collidator, other) || contains(other, (minX[collidator] + maxX[collidator]) / 2,
+				(minY[collidator] + maxY[collidator]) / 2)) {
+			hits++;
+			handler.onCollision(collidator, other);
+		}
+	}
+
+	private boolean intersects(int a, int b) {
+		return minX[a] < maxX[b] && minX[b] < maxX[a] && minY[a] < maxY[b] && minY[b] < maxY[a];
+	}
+
+	private boolean contains(int id, double x, double y) {
+		return x >= minX[id] && x <= maxX[id] && y >= minY[id] && y <= maxY[id];
+	}
+
+	private void ensureCapacity(int size) {
+		if (minX.length < size) {
+			int capacity = Math.max(size, minX.length * 2);
+			minX = Arrays.copyOf(minX, capacity);
+			minY = Arrays.copyOf(minY, capacity);
+			maxX = Arrays.copyOf(maxX, capacity);
+			maxY = Arrays.copyOf(maxY, capacity);
+			collidatorFlags = Arrays.copyOf(collidatorFlags, capacity);
+			order = Arrays.copyOf(order, capacity);
+			active = Arrays.copyOf(active, capacity);
+		}
+	}
+
+	public int getBoxCount() {
+		return count;
+	}
+
+	public int getCandidatePairs() {
+		return candidatePairs;
+	}
+
+	public int getHits() {
+		return hits;
+	}
+
+	public int getBruteForcePairs() {
+		return bruteForcePairs;
+	}
+
+	public long getTotalCandidatePairs() {
+		return totalCandidatePairs;
+	}
+
+	public long getTotalHits() {
+		return totalHits;
+	}
+
+	public long getTotalBruteForcePairs() {
+		return totalBruteForcePairs;
+	}
+
+	public void resetCounters() {
+		totalCandidatePairs = 0;
+		totalHits = 0;
+		totalBruteForcePairs = 0;
+	}
+}
@@ -0,0 +1,27 @@
+package flappy_bird.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("flappy_bird.CollisionPass")
+@Label("Collision Pass")
+@Category("Flappy Bird")
+@Description("Broadphase and narrowphase of one world step")
+@StackTrace(false)
+public class CollisionPassEvent extends Event {
+	@Label("Boxes")
+	public int boxes;
+
+	@Label("Pairs Tested")
+	public int candidatePairs;
+
+	@Label("Brute Force Pairs")
+	public int bruteForcePairs;
+
+	@Label("Hits")
+	public int hits;
+}
@@ -0,0 +1,119 @@
+package flappy_bird.diagnostics;
+
+// Times each phase of a frame. Phases can run several times per frame (one per
+// simulation step), their time is summed and recorded once in endFrame().
+// While disabled every call is a single branch, so the hooks can stay in place
+public class FrameProfiler {
+	public enum Phase {
+		PULSE("pulse"), FRAME("frame"), STEP("step"), COLLISIONS("  coll"), UPDATABLES("update"), FLUSH("flush"),
+		RENDER("render");
+
+		private final String label;
+
+		private Phase(String label) {
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+	}
+
+	// About 4 s at 120 fps, 0.1 ms buckets up to 50 ms
+	private static final int WINDOW = 512;
+	private static final int BUCKETS = 500;
+	private static final long BUCKET_WIDTH = 100_000;
+	private static final int LATENCY_WINDOW = 128;
+	private static final int RESTART_WINDOW = 64;
+
+	private static FrameProfiler instance = null;
+
+	private boolean enabled = Boolean.getBoolean("flappy.profiler");
+
+	private final RollingHistogram[] histograms = new RollingHistogram[Phase.values().length];
+	private final long[] frameTotals = new long[Phase.values().length];
+	// From the arrival of an input to the end of the frame that shows its effect
+	private final RollingHistogram inputLatency = new RollingHistogram(LATENCY_WINDOW, BUCKETS * 2, BUCKET_WIDTH);
+	// From the restart key to the game being ready for its first step
+	private final RollingHistogram restartLatency = new RollingHistogram(RESTART_WINDOW, BUCKETS * 2, BUCKET_WIDTH);
+
+	private FrameProfiler() {
+		for (int i = 0; i < histograms.length; i++) {
+			histograms[i] = new RollingHistogram(WINDOW, BUCKETS, BUCKET_WIDTH);
+		}
+	}
+
+	public static FrameProfiler getInstance() {
+		if (instance == null) {
+			instance = new FrameProfiler();
+		}
+		return instance;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void toggle() {
+		enabled = !enabled;
+		if (enabled) {
+			// Start from fresh numbers instead of samples from the last time it was shown
+			for (int i = 0; i < histograms.length; i++) {
+				histograms[i].clear();
+				frameTotals[i] = 0;
+			}
+		}
+	}
+
+	// Timestamp to pass to lap(), 0 while disabled
+	public long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	// Adds the time since "since" to the phase and returns the new timestamp
+	public long lap(Phase phase, long since) {
+		if (!enabled) {
+			return 0;
+		}
+		long now = System.nanoTime();
+		frameTotals[phase.ordinal()] += now - since;
+		return now;
+	}
+
+	public void add(Phase phase, long nanos) {
+		if (enabled) {
+			frameTotals[phase.ordinal()] += nanos;
+		}
+	}
+
+	public void endFrame() {
+		if (!enabled) {
+			return;
+		}
+		for (int i = 0; i < histograms.length; i++) {
+			histograms[i].record(frameTotals[i]);
+			frameTotals[i] = 0;
+		}
+	}
+
+	// Inputs are rare, so they are recorded even while disabled
+	public void recordInputLatency(long nanos) {
+		inputLatency.record(nanos);
+	}
+
+	public RollingHistogram getInputLatency() {
+		return inputLatency;
+	}
+
+	public void recordRestartLatency(long nanos) {
+		restartLatency.record(nanos);
+	}
+
+	public RollingHistogram getRestartLatency() {
+		return restartLatency;
+	}
+
+	public RollingHistogram getHistogram(Phase phase) {
+		return histograms[phase.ordinal()];
+	}
+}
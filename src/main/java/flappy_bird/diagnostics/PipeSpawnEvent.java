@@ -0,0 +1,25 @@
+package flappy_bird.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("flappy_bird.PipeSpawn")
+@Label("Pipe Column Spawn")
+@Category("Flappy Bird")
+@StackTrace(false)
+public class PipeSpawnEvent extends Event {
+	@Label("Tick")
+	public long tick;
+
+	@Label("Top Height")
+	public int topHeight;
+
+	@Label("Bottom Height")
+	public int bottomHeight;
+
+	@Label("Live Entities")
+	public int entities;
+}
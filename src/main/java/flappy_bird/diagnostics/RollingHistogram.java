@@ -0,0 +1,79 @@
+package flappy_bird.diagnostics;
+
+// Distribution of the last "window" samples in fixed width buckets. Recording and
+// reading never allocate: the ring forgets the oldest sample as a new one comes in
+public class RollingHistogram {
+	private final long[] samples;
+	private final int[] buckets;
+	private final long bucketWidth;
+
+	private int next = 0;
+	private int count = 0;
+
+	// Samples above buckets * bucketWidth all fall in the last bucket
+	public RollingHistogram(int window, int bucketCount, long bucketWidth) {
+		this.samples = new long[window];
+		this.buckets = new int[bucketCount];
+		this.bucketWidth = bucketWidth;
+	}
+
+	public void record(long value) {
+		if (count == samples.length) {
+			buckets[bucketOf(samples[next])]--;
+		} else {
+			count++;
+		}
+		samples[next] = value;
+		buckets[bucketOf(value)]++;
+		next = (next + 1) % samples.length;
+	}
+
+	private int bucketOf(long value) {
+		long bucket = value / bucketWidth;
+		return bucket < 0 ? 0 : (int) Math.min(bucket, buckets.length - 1);
+	}
+
+	// Upper bound of the bucket holding the percentile, percentile in [0, 1]
+	public long getPercentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		int rank = Math.max(1, (int) Math.ceil(percentile * count));
+		int seen = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			seen += buckets[i];
+			if (seen >= rank) {
+				return (i + 1) * bucketWidth;
+			}
+		}
+		return buckets.length * bucketWidth;
+	}
+
+	public long getMin() {
+		long min = Long.MAX_VALUE;
+		for (int i = 0; i < count; i++) {
+			min = Math.min(min, samples[i]);
+		}
+		return count == 0 ? 0 : min;
+	}
+
+	public long getMax() {
+		long max = 0;
+		for (int i = 0; i < count; i++) {
+			max = Math.max(max, samples[i]);
+		}
+		return max;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public void clear() {
+		next = 0;
+		count = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = 0;
+		}
+	}
+}
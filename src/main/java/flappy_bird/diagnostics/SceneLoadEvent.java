@@ -0,0 +1,18 @@
+package flappy_bird.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("flappy_bird.SceneLoad")
+@Label("Scene Load")
+@Category("Flappy Bird")
+public class SceneLoadEvent extends Event {
+	@Label("Scene")
+	public String scene;
+
+	// "load", "restart" or "unload"
+	@Label("Action")
+	public String action;
+}
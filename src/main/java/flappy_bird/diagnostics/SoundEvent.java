@@ -0,0 +1,23 @@
+package flappy_bird.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("flappy_bird.Sound")
+@Label("Sound Effect")
+@Category("Flappy Bird")
+@StackTrace(false)
+public class SoundEvent extends Event {
+	@Label("Effect")
+	public String effect;
+
+	// "played", "restarted" or "dropped"
+	@Label("Outcome")
+	public String outcome;
+
+	@Label("Active Voices")
+	public int activeVoices;
+}
@@ -0,0 +1,19 @@
+package flappy_bird.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("flappy_bird.Startup")
+@Label("Startup Milestone")
+@Category("Flappy Bird")
+public class StartupEvent extends Event {
+	@Label("Milestone")
+	public String milestone;
+
+	@Label("Since JVM Start")
+	@Timespan(Timespan.MILLISECONDS)
+	public long sinceJvmStart;
+}
@@ -0,0 +1,61 @@
+package flappy_bird.diagnostics;
+
+import java.lang.management.ManagementFactory;
+
+import flappy_bird.Config;
+
+// Cold start milestones, measured from the JVM start. Each one is taken once,
+// emitted as a StartupEvent and printed when -Dflappy.startupProbe is set
+public final class StartupProbe {
+	public enum Milestone {
+		MENU_FRAME("first menu frame"), ASSETS_READY("all assets decoded"), GAME_FRAME("first game frame");
+
+		private final String label;
+
+		private Milestone(String label) {
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+	}
+
+	private static final long JVM_START_MILLIS = ManagementFactory.getRuntimeMXBean().getStartTime();
+	private static final long NOT_REACHED = -1;
+
+	private static final long[] reached = new long[Milestone.values().length];
+
+	static {
+		for (int i = 0; i < reached.length; i++) {
+			reached[i] = NOT_REACHED;
+		}
+	}
+
+	private StartupProbe() {
+	}
+
+	// From any thread, only the first call per milestone counts
+	public static synchronized void mark(Milestone milestone) {
+		if (reached[milestone.ordinal()] != NOT_REACHED) {
+			return;
+		}
+		long millis = System.currentTimeMillis() - JVM_START_MILLIS;
+		reached[milestone.ordinal()] = millis;
+
+		StartupEvent event = new StartupEvent();
+		if (event.shouldCommit()) {
+			event.milestone = milestone.getLabel();
+			event.sinceJvmStart = millis;
+			event.commit();
+		}
+		if (Config.startupProbe != null) {
+			System.out.println("startup: " + milestone.getLabel() + " at " + millis + " ms");
+		}
+	}
+
+	// Milliseconds since the JVM start, -1 when not reached yet
+	public static synchronized long getMillis(Milestone milestone) {
+		return reached[milestone.ordinal()];
+	}
+}
@@ -0,0 +1,32 @@
+package flappy_bird.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Flight recorder events are only committed while a recording is running, e.g.
+//   java -XX:StartFlightRecording=filename=session.jfr ...
+// so they are free to leave in the game loop
+@Name("flappy_bird.Tick")
+@Label("Simulation Tick")
+@Category("Flappy Bird")
+@Description("One fixed step of a world")
+@StackTrace(false)
+public class TickEvent extends Event {
+	@Label("Tick")
+	public long tick;
+
+	@Label("Delta Time")
+	@Timespan(Timespan.NANOSECONDS)
+	public long deltaTime;
+
+	@Label("Entities")
+	public int entities;
+
+	@Label("Score")
+	public int score;
+}
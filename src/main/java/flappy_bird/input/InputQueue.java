@@ -0,0 +1,64 @@
+package flappy_bird.input;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single producer, single consumer ring of input timestamps (System.nanoTime).
+// The producer only writes tail and the consumer only writes head, so neither
+// side ever locks; lazySet publishes the slot before the new index is seen
+public class InputQueue {
+	public static final long EMPTY = Long.MIN_VALUE;
+
+	private final long[] timestamps;
+	private final int mask;
+
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+	private long dropped = 0;
+
+	// capacity is rounded up to a power of two
+	public InputQueue(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		timestamps = new long[size];
+		mask = size - 1;
+	}
+
+	// Producer side, false when the queue is full and the input was dropped
+	public boolean offer(long timestamp) {
+		long currentTail = tail.get();
+		if (currentTail - head.get() == timestamps.length) {
+			dropped++;
+			return false;
+		}
+		timestamps[(int) (currentTail & mask)] = timestamp;
+		tail.lazySet(currentTail + 1);
+		return true;
+	}
+
+	// Consumer side, EMPTY when there is nothing queued
+	public long peek() {
+		long currentHead = head.get();
+		if (currentHead == tail.get()) {
+			return EMPTY;
+		}
+		return timestamps[(int) (currentHead & mask)];
+	}
+
+	public long poll() {
+		long currentHead = head.get();
+		if (currentHead == tail.get()) {
+			return EMPTY;
+		}
+		long timestamp = timestamps[(int) (currentHead & mask)];
+		head.lazySet(currentHead + 1);
+		return timestamp;
+	}
+
+	// Consumer side
+	public void clear() {
+		head.lazySet(tail.get());
+	}
+
+	public long getDropped() {
+		return dropped;
+	}
+}
@@ -1,5 +0,0 @@
-package flappy_bird.interfaces;
-
-public interface Collidator extends Collideable {
-	public void collide(Collideable collideable);
-}
@@ -0,0 +1,9 @@
+package flappy_bird.interfaces;
+
+import javafx.scene.canvas.GraphicsContext;
+
+// Renderables that can also paint themselves on the shared canvas (-Dflappy.renderMode=canvas).
+// Called after interpolate(), so the node already holds the state to draw
+public interface Drawable extends Renderable {
+	public void draw(GraphicsContext gc);
+}
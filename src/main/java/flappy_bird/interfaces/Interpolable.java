@@ -0,0 +1,6 @@
+package flappy_bird.interfaces;
+
+public interface Interpolable {
+	// alpha -> [0, 1) fraction of a simulation step elapsed since the last update
+	public void interpolate(double alpha);
+}
@@ -0,0 +1,8 @@
+package flappy_bird.interfaces;
+
+import flappy_bird.utils.QualityTier;
+
+public interface QualityAware {
+	// Called on registration and on every tier change, on the FX thread
+	public void applyQuality(QualityTier tier);
+}
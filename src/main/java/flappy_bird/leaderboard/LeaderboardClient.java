@@ -0,0 +1,340 @@
+package flappy_bird.leaderboard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import flappy_bird.Config;
+import flappy_bird.diagnostics.RollingHistogram;
+
+// Sends scores to a LeaderboardServer without ever blocking the caller: submit()
+// only queues, a worker thread posts batches and keeps what could not be sent
+// (server down, network gone) to retry with exponential backoff. The top list is
+// cached and refreshed in the background once it is older than TOP_TTL_NANOS
+public class LeaderboardClient {
+	private static final Logger LOGGER = Logger.getLogger(LeaderboardClient.class.getName());
+
+	private static final int QUEUE_CAPACITY = 1024;
+	private static final int BATCH_SIZE = 64;
+	// Entries kept while the server is unreachable, the oldest go first
+	private static final int OFFLINE_CAPACITY = 10_000;
+	private static final long MIN_BACKOFF_MILLIS = 500;
+	private static final long MAX_BACKOFF_MILLIS = 30_000;
+	private static final long IDLE_WAIT_MILLIS = 250;
+	private static final int TIMEOUT_MILLIS = 2000;
+	private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+	private static final int TOP_SIZE = 10;
+	private static final long TOP_TTL_NANOS = 10_000_000_000L;
+	// Not in HttpURLConnection
+	private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+	private static LeaderboardClient instance = null;
+
+	private final String baseUrl;
+	private final String cabinet;
+
+	private final BlockingQueue<ScoreEntry> outbound = new ArrayBlockingQueue<ScoreEntry>(QUEUE_CAPACITY);
+	private final Thread worker;
+	private volatile boolean closing = false;
+
+	// Worker thread
+	private final ArrayDeque<ScoreEntry> pending = new ArrayDeque<ScoreEntry>();
+	private final StringBuilder body = new StringBuilder();
+	private final Random random = new Random();
+	private final RollingHistogram batchLatency = new RollingHistogram(4096, 500, 1_000_000);
+	private boolean online = true;
+
+	private final AtomicLong submitted = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong sent = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+
+	private final ExecutorService topReader;
+	private final AtomicBoolean topRefreshing = new AtomicBoolean();
+	private volatile List<ScoreEntry> top = Collections.emptyList();
+	private volatile long topFetched = 0;
+
+	public LeaderboardClient(String baseUrl, String cabinet) {
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+		this.cabinet = cabinet;
+
+		worker = new Thread(this::run, "leaderboard-sender");
+		worker.setDaemon(true);
+		worker.start();
+
+		topReader = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "leaderboard-reader");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public static LeaderboardClient getInstance() {
+		if (instance == null) {
+			instance = new LeaderboardClient(Config.leaderboardUrl, Config.cabinet);
+		}
+		return instance;
+	}
+
+	// False when the queue is full, the entry is dropped
+	public boolean submit(String player, int score) {
+		return submit(new ScoreEntry(player, score, System.currentTimeMillis(), cabinet));
+	}
+
+	public boolean submit(ScoreEntry entry) {
+		if (closing) {
+			return false;
+		}
+		submitted.incrementAndGet();
+		if (!outbound.offer(entry)) {
+			dropped.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	// Best entry of each player, best first. Returns the cached list right away
+	public List<ScoreEntry> getTop() {
+		long fetched = topFetched;
+		if ((fetched == 0 || System.nanoTime() - fetched > TOP_TTL_NANOS) && topRefreshing.compareAndSet(false, true)) {
+			topReader.execute(this::refreshTop);
+		}
+		return top;
+	}
+
+	// Gives the worker a moment to send what is left, anything after that is lost
+	public void close() {
+		if (closing) {
+			return;
+		}
+		closing = true;
+		LockSupport.unpark(worker);
+		try {
+			worker.join(CLOSE_TIMEOUT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		worker.interrupt();
+		topReader.shutdownNow();
+	}
+
+	private void run() {
+		long backoff = MIN_BACKOFF_MILLIS;
+		try {
+			while (true) {
+				if (pending.isEmpty()) {
+					ScoreEntry entry = outbound.poll(IDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+					if (entry == null) {
+						if (closing) {
+							return;
+						}
+						continue;
+					}
+					pending.addLast(entry);
+				}
+				drainOutbound();
+
+				if (sendBatch()) {
+					backoff = MIN_BACKOFF_MILLIS;
+				} else {
+					// Nobody waits for a retry when the game is closing
+					if (closing) {
+						return;
+					}
+					// Jitter, so cabinets that lost the server together do not come back together
+					long wait = backoff + (long) (random.nextDouble() * backoff / 2);
+					LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(wait));
+					backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+					if (closing) {
+						return;
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			// Closed
+		}
+	}
+
+	private void drainOutbound() {
+		ScoreEntry entry;
+		while ((entry = outbound.poll()) != null) {
+			if (pending.size() == OFFLINE_CAPACITY) {
+				pending.pollFirst();
+				dropped.incrementAndGet();
+			}
+			pending.addLast(entry);
+		}
+	}
+
+	// The batch leaves the pending queue only once the server took it
+	private boolean sendBatch() {
+		int size = Math.min(BATCH_SIZE, pending.size());
+		body.setLength(0);
+		Iterator<ScoreEntry> entries = pending.iterator();
+		for (int i = 0; i < size; i++) {
+			entries.next().appendTo(body);
+		}
+
+		long start = System.nanoTime();
+		byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+		int status;
+		try {
+			status = post(bytes);
+		} catch (IOException stale) {
+			// A kept-alive connection the server already closed fails on first use, one
+			// more try gets a fresh one. The server may have the batch already, resending
+			// is harmless as it only keeps the best entry of each player
+			try {
+				status = post(bytes);
+			} catch (IOException e) {
+				failed(e.toString());
+				return false;
+			}
+		}
+
+		// Timeouts and rate limits pass like a server error, the same batch is welcome later
+		if (status >= 500 || status == HttpURLConnection.HTTP_CLIENT_TIMEOUT || status == HTTP_TOO_MANY_REQUESTS) {
+			failed("HTTP " + status);
+			return false;
+		}
+		if (status >= 400) {
+			// Retrying would be rejected again
+			LOGGER.warning("Leaderboard rejected " + size + " scores: HTTP " + status);
+			dropped.addAndGet(size);
+		} else {
+			sent.addAndGet(size);
+			batches.incrementAndGet();
+			batchLatency.record(System.nanoTime() - start);
+		}
+		for (int i = 0; i < size; i++) {
+			pending.pollFirst();
+		}
+		if (!online) {
+			online = true;
+			LOGGER.info("Leaderboard reachable again, " + pending.size() + " scores still pending");
+		}
+		return true;
+	}
+
+	private int post(byte[] bytes) throws IOException {
+		HttpURLConnection connection = connect("/scores");
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		connection.setFixedLengthStreamingMode(bytes.length);
+		connection.setRequestProperty("Content-Type", "text/tab-separated-values; charset=utf-8");
+		try (OutputStream out = connection.getOutputStream()) {
+			out.write(bytes);
+		}
+		int status = connection.getResponseCode();
+		discardResponse(connection);
+		return status;
+	}
+
+	private void failed(String reason) {
+		failures.incrementAndGet();
+		if (online) {
+			online = false;
+			LOGGER.warning("Leaderboard unreachable (" + reason + "), keeping scores to retry");
+		} else {
+			LOGGER.fine("Leaderboard still unreachable: " + reason);
+		}
+	}
+
+	private void refreshTop() {
+		try {
+			HttpURLConnection connection = connect("/top?n=" + TOP_SIZE);
+			if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+				discardResponse(connection);
+				return;
+			}
+			List<ScoreEntry> entries = new ArrayList<ScoreEntry>(TOP_SIZE);
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (!line.isEmpty()) {
+						entries.add(ScoreEntry.parse(line));
+					}
+				}
+			}
+			top = Collections.unmodifiableList(entries);
+		} catch (IOException | IllegalArgumentException e) {
+			LOGGER.log(Level.FINE, "Could not read the leaderboard", e);
+		} finally {
+			// Failures wait for the TTL too, an offline server is not polled every frame
+			topFetched = System.nanoTime();
+			topRefreshing.set(false);
+		}
+	}
+
+	private HttpURLConnection connect(String path) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+		connection.setConnectTimeout(TIMEOUT_MILLIS);
+		connection.setReadTimeout(TIMEOUT_MILLIS);
+		return connection;
+	}
+
+	// Reading the whole response lets the JDK reuse the connection (keep-alive)
+	private static void discardResponse(HttpURLConnection connection) throws IOException {
+		InputStream in = connection.getResponseCode() >= 400 ? connection.getErrorStream()
+				: connection.getInputStream();
+		if (in != null) {
+			try (InputStream response = in) {
+				byte[] buffer = new byte[256];
+				while (response.read(buffer) >= 0) {
+				}
+			}
+		}
+	}
+
+	public long getSubmitted() {
+		return submitted.get();
+	}
+
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	public long getSent() {
+		return sent.get();
+	}
+
+	public long getBatches() {
+		return batches.get();
+	}
+
+	public long getFailures() {
+		return failures.get();
+	}
+
+	// Only meaningful once closed, the worker thread owns them until then
+	public int getUnsent() {
+		return pending.size() + outbound.size();
+	}
+
+	public RollingHistogram getBatchLatency() {
+		return batchLatency;
+	}
+}
@@ -0,0 +1,122 @@
+package flappy_bird.leaderboard;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import flappy_bird.diagnostics.RollingHistogram;
+
+// Many simulated players submitting through a few cabinets, each cabinet one
+// LeaderboardClient. Without url= an embedded LeaderboardServer is started:
+//   java -cp target/classes flappy_bird.leaderboard.LeaderboardLoadTest submitters=5000 cabinets=20
+// Options: submitters, scores (per submitter), cabinets, gap (max ms between the
+// scores of a submitter), threads, seed, url
+public class LeaderboardLoadTest {
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Map<String, String> options = parseOptions(args);
+		int submitters = Integer.parseInt(options.getOrDefault("submitters", "2000"));
+		int scores = Integer.parseInt(options.getOrDefault("scores", "5"));
+		int cabinets = Integer.parseInt(options.getOrDefault("cabinets", "20"));
+		int gap = Integer.parseInt(options.getOrDefault("gap", "20"));
+		int threads = Integer.parseInt(options.getOrDefault("threads", "64"));
+		long seed = Long.parseLong(options.getOrDefault("seed", "0"));
+		String url = options.get("url");
+
+		LeaderboardServer server = null;
+		if (url == null) {
+			server = new LeaderboardServer(0, Integer.parseInt(options.getOrDefault("serverThreads", "8")));
+			server.start();
+			url = "http://localhost:" + server.getPort();
+		}
+
+		List<LeaderboardClient> clients = new ArrayList<LeaderboardClient>(cabinets);
+		for (int i = 0; i < cabinets; i++) {
+			clients.add(new LeaderboardClient(url, "cabinet-" + i));
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		long start = System.nanoTime();
+		for (int i = 0; i < submitters; i++) {
+			int submitter = i;
+			pool.execute(() -> {
+				Random random = new Random(seed + submitter);
+				LeaderboardClient client = clients.get(submitter % cabinets);
+				for (int j = 0; j < scores; j++) {
+					client.submit("player-" + submitter, random.nextInt(100));
+					if (gap > 0) {
+						try {
+							Thread.sleep(random.nextInt(gap + 1));
+						} catch (InterruptedException e) {
+							return;
+						}
+					}
+				}
+			});
+		}
+		pool.shutdown();
+		pool.awaitTermination(1, TimeUnit.HOURS);
+		double submitSeconds = (System.nanoTime() - start) / 1e9;
+
+		long submitted = 0, dropped = 0, sent = 0, batches = 0, failures = 0, unsent = 0;
+		long worstP99 = 0;
+		List<Long> medians = new ArrayList<Long>(cabinets);
+		for (LeaderboardClient client : clients) {
+			client.close();
+			submitted += client.getSubmitted();
+			dropped += client.getDropped();
+			sent += client.getSent();
+			batches += client.getBatches();
+			failures += client.getFailures();
+			unsent += client.getUnsent();
+			RollingHistogram latency = client.getBatchLatency();
+			if (latency.getCount() > 0) {
+				medians.add(latency.getPercentile(0.5));
+				worstP99 = Math.max(worstP99, latency.getPercentile(0.99));
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		medians.sort(null);
+
+		System.out.println("submitted\tdropped\tsent\tunsent\tbatches\tfailures\tbatchP50ms\tbatchP99ms\tseconds\tscores/s");
+		System.out.println(String.format(Locale.ROOT, "%d\t%d\t%d\t%d\t%d\t%d\t%.1f\t%.1f\t%.2f\t%.0f", submitted,
+				dropped, sent, unsent, batches, failures,
+				medians.isEmpty() ? 0 : medians.get(medians.size() / 2) / 1e6, worstP99 / 1e6, seconds,
+				sent / seconds));
+		System.out.println(String.format(Locale.ROOT, "submit phase %.2f s, %d submitters on %d threads", submitSeconds,
+				submitters, threads));
+
+		if (server != null) {
+			System.out.println("server received " + server.getReceived() + " scores in " + server.getRequests()
+					+ " requests, top: " + describe(server.getTop(3)));
+			server.stop();
+		}
+	}
+
+	private static String describe(List<ScoreEntry> entries) {
+		StringBuilder out = new StringBuilder();
+		for (ScoreEntry entry : entries) {
+			out.append(entry.getPlayer()).append('=').append(entry.getScore()).append(' ');
+		}
+		return out.toString().trim();
+	}
+
+	static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new HashMap<String, String>();
+		for (String arg : args) {
+			int equals = arg.indexOf('=');
+			if (equals < 0) {
+				throw new IllegalArgumentException("Expected key=value, got " + arg);
+			}
+			options.put(arg.substring(0, equals), arg.substring(equals + 1));
+		}
+		return options;
+	}
+}
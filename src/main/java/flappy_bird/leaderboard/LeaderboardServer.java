@@ -0,0 +1,164 @@
+package flappy_bird.leaderboard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Small leaderboard for the cabinets of one place, or to try the client on one machine:
+//   java -cp target/classes flappy_bird.leaderboard.LeaderboardServer port=8080
+// POST /scores takes ScoreEntry lines, GET /top?n=10 answers with the best entry
+// of each player, best first. Scores only live in memory
+public class LeaderboardServer {
+	private static final int BACKLOG = 1024;
+	private static final int MAX_TOP = 100;
+
+	// Best first, the earliest wins a tie
+	private static final Comparator<ScoreEntry> RANKING = Comparator.comparingInt(ScoreEntry::getScore).reversed()
+			.thenComparingLong(ScoreEntry::getTimestamp).thenComparing(ScoreEntry::getPlayer);
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+
+	// Guarded by this
+	private final Map<String, ScoreEntry> bestByPlayer = new HashMap<String, ScoreEntry>();
+	private final TreeSet<ScoreEntry> ranking = new TreeSet<ScoreEntry>(RANKING);
+
+	private final AtomicLong received = new AtomicLong();
+	private final AtomicLong requests = new AtomicLong();
+
+	// Port 0 takes any free port
+	public LeaderboardServer(int port, int threads) throws IOException {
+		server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+		server.createContext("/scores", this::handleScores);
+		server.createContext("/top", this::handleTop);
+		executor = Executors.newFixedThreadPool(threads);
+		server.setExecutor(executor);
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public void stop() {
+		server.stop(0);
+		executor.shutdown();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	public synchronized void submit(ScoreEntry entry) {
+		received.incrementAndGet();
+		ScoreEntry best = bestByPlayer.get(entry.getPlayer());
+		if (best == null || RANKING.compare(entry, best) < 0) {
+			if (best != null) {
+				ranking.remove(best);
+			}
+			bestByPlayer.put(entry.getPlayer(), entry);
+			ranking.add(entry);
+		}
+	}
+
+	public synchronized List<ScoreEntry> getTop(int count) {
+		List<ScoreEntry> top = new ArrayList<ScoreEntry>(Math.min(count, ranking.size()));
+		Iterator<ScoreEntry> entries = ranking.iterator();
+		while (top.size() < count && entries.hasNext()) {
+			top.add(entries.next());
+		}
+		return top;
+	}
+
+	private void handleScores(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		if (!"POST".equals(exchange.getRequestMethod())) {
+			respond(exchange, 405, "");
+			return;
+		}
+		// The whole batch is parsed before any of it is taken
+		List<ScoreEntry> entries = new ArrayList<ScoreEntry>();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.isEmpty()) {
+					entries.add(ScoreEntry.parse(line));
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			respond(exchange, 400, e.getMessage());
+			return;
+		}
+		for (int i = 0; i < entries.size(); i++) {
+			submit(entries.get(i));
+		}
+		respond(exchange, 204, "");
+	}
+
+	private void handleTop(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		if (!"GET".equals(exchange.getRequestMethod())) {
+			respond(exchange, 405, "");
+			return;
+		}
+		int count = 10;
+		String query = exchange.getRequestURI().getQuery();
+		if (query != null && query.startsWith("n=")) {
+			try {
+				count = Math.max(1, Math.min(MAX_TOP, Integer.parseInt(query.substring(2))));
+			} catch (NumberFormatException e) {
+				respond(exchange, 400, "Bad n");
+				return;
+			}
+		}
+		StringBuilder body = new StringBuilder();
+		for (ScoreEntry entry : getTop(count)) {
+			entry.appendTo(body);
+		}
+		respond(exchange, 200, body.toString());
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/tab-separated-values; charset=utf-8");
+		// 204 must not have a body, -1 tells the server so
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	public long getReceived() {
+		return received.get();
+	}
+
+	public long getRequests() {
+		return requests.get();
+	}
+
+	public static void main(String[] args) throws IOException {
+		Map<String, String> options = LeaderboardLoadTest.parseOptions(args);
+		int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+		int threads = Integer.parseInt(options.getOrDefault("threads", "4"));
+
+		LeaderboardServer server = new LeaderboardServer(port, threads);
+		server.start();
+		System.out.println("Leaderboard listening on http://localhost:" + server.getPort());
+	}
+}
@@ -0,0 +1,50 @@
+package flappy_bird.leaderboard;
+
+// One submitted score. On the wire: one entry per line, fields separated by tabs
+public class ScoreEntry {
+	private final String player;
+	private final int score;
+	private final long timestamp;
+	private final String cabinet;
+
+	public ScoreEntry(String player, int score, long timestamp, String cabinet) {
+		this.player = clean(player);
+		this.score = score;
+		this.timestamp = timestamp;
+		this.cabinet = clean(cabinet);
+	}
+
+	// Tabs and line breaks would break the format
+	private static String clean(String value) {
+		return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+	}
+
+	void appendTo(StringBuilder out) {
+		out.append(player).append('\t').append(score).append('\t').append(timestamp).append('\t').append(cabinet)
+				.append('\n');
+	}
+
+	static ScoreEntry parse(String line) {
+		String[] fields = line.split("\t", -1);
+		if (fields.length != 4) {
+			throw new IllegalArgumentException("Malformed score entry: " + line);
+		}
+		return new ScoreEntry(fields[0], Integer.parseInt(fields[1]), Long.parseLong(fields[2]), fields[3]);
+	}
+
+	public String getPlayer() {
+		return player;
+	}
+
+	public int getScore() {
+		return score;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public String getCabinet() {
+		return cabinet;
+	}
+}
@@ -1,45 +1,112 @@
 package flappy_bird.objects;
 
 import flappy_bird.Config;
-import flappy_bird.interfaces.Renderable;
+import flappy_bird.interfaces.Drawable;
+import flappy_bird.interfaces.Interpolable;
+import flappy_bird.interfaces.QualityAware;
 import flappy_bird.interfaces.Updatable;
+import flappy_bird.simulation.World;
+import flappy_bird.utils.AssetRegistry;
 import flappy_bird.utils.GameObject;
+import flappy_bird.utils.QualityGovernor;
+import flappy_bird.utils.QualityTier;
 import javafx.scene.Group;
 import javafx.scene.Node;
-import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
 
-public class Background extends GameObject implements Updatable, Renderable {
-	private Group render;
-	private double posX = 0;
+// Sky and grass are flat colors, clouds, city and bushes are ParallaxLayers, the
+// further away the slower. The cloud and bush tiles are painted once and shared by
+// every Background, so the texture memory is the three tiles whatever the window
+public class Background extends GameObject implements Updatable, Drawable, Interpolable, QualityAware {
+	private static final Color SKY = Color.rgb(84, 192, 201);
+	private static final Color GRASS = Color.rgb(100, 224, 117);
+	private static final Color CLOUD = Color.rgb(233, 252, 217);
+	private static final Color BUSH = Color.rgb(83, 185, 97);
+	private static final Color BUSH_SHADE = Color.rgb(64, 160, 80);
 
-	private final int cityWidth = 136;
-	private final int cityHeight = 152;
-	private final int grassHeight = 100;
+	private static final int CITY_WIDTH = 136;
+	private static final int CITY_HEIGHT = 152;
+	private static final int GRASS_HEIGHT = 100;
+	private static final int CLOUD_WIDTH = 240;
+	private static final int CLOUD_HEIGHT = 64;
+	private static final int BUSH_WIDTH = 180;
+	private static final int BUSH_HEIGHT = 40;
 
-	public Background() {
-		Image backgroundImage = new Image(ClassLoader.getSystemResourceAsStream("img/background.png"), cityWidth, cityHeight, false, false);
+	// Fraction of the distance travelled each layer moves
+	private static final double CLOUD_FACTOR = 0.004;
+	private static final double CITY_FACTOR = 0.01;
+	private static final double BUSH_FACTOR = 0.03;
 
-		int totalWidth = Config.baseWidth + cityWidth;
-		int skyHeight = Config.baseHeight - cityHeight - grassHeight;
+	private final World world;
 
-		Canvas canvas = new Canvas(totalWidth, Config.baseHeight);
-		GraphicsContext gc = canvas.getGraphicsContext2D();
+	private Group render;
+	private final Rectangle sky;
+	private final Rectangle grass;
+	private final ParallaxLayer[] layers;
+	private double distance = 0;
+	private double previousDistance = 0;
 
-		gc.setFill(Color.rgb(84, 192, 201));
-		gc.fillRect(0, 0, totalWidth, skyHeight);
+	public Background(World world) {
+		this.world = world;
 
-		for (int x = 0; x < totalWidth; x += cityWidth) {
-			gc.drawImage(backgroundImage, x, skyHeight);
-		}
+		int skyHeight = Config.baseHeight - CITY_HEIGHT - GRASS_HEIGHT;
+		int grassY = skyHeight + CITY_HEIGHT;
 
-		gc.setFill(Color.rgb(100, 224, 117));
-		gc.fillRect(0, skyHeight + cityHeight, totalWidth, grassHeight);
+		sky = new Rectangle(Config.baseWidth, grassY);
+		sky.setFill(SKY);
+		grass = new Rectangle(Config.baseWidth, GRASS_HEIGHT);
+		grass.setFill(GRASS);
+		grass.setTranslateY(grassY);
 
-		render = new Group(canvas);
+		Image clouds = AssetRegistry.getRasterized("clouds", CLOUD_WIDTH, CLOUD_HEIGHT, Background::paintClouds);
+		Image city = AssetRegistry.getImage("img/background.png", CITY_WIDTH, CITY_HEIGHT);
+		Image bushes = AssetRegistry.getRasterized("bushes", BUSH_WIDTH, BUSH_HEIGHT, Background::paintBushes);
+
+		layers = new ParallaxLayer[] {
+				new ParallaxLayer(clouds, skyHeight - CLOUD_HEIGHT + 16, CLOUD_FACTOR),
+				new ParallaxLayer(city, skyHeight, CITY_FACTOR),
+				new ParallaxLayer(bushes, grassY - BUSH_HEIGHT / 2, BUSH_FACTOR) };
+
+		render = new Group(sky, layers[0].getRender(), layers[1].getRender(), grass, layers[2].getRender());
 		render.setViewOrder(10);
+		QualityGovernor.getInstance().register(this);
+	}
+
+	// Low tiers keep only the city
+	@Override
+	public void applyQuality(QualityTier tier) {
+		layers[0].setVisible(tier.hasFullParallax());
+		layers[2].setVisible(tier.hasFullParallax());
+	}
+
+	// Every shape is also drawn one tile to each side, so it wraps over the seam
+	private static void paintClouds(GraphicsContext gc) {
+		gc.setFill(CLOUD);
+		double[][] puffs = { { 0, 34, 70, 40 }, { 40, 18, 60, 50 }, { 85, 30, 50, 34 }, { 150, 24, 56, 44 },
+				{ 190, 36, 60, 30 } };
+		for (int offset = -CLOUD_WIDTH; offset <= CLOUD_WIDTH; offset += CLOUD_WIDTH) {
+			for (double[] puff : puffs) {
+				gc.fillOval(puff[0] + offset, puff[1], puff[2], puff[3]);
+			}
+		}
+		gc.fillRect(0, 50, CLOUD_WIDTH, CLOUD_HEIGHT - 50);
+	}
+
+	private static void paintBushes(GraphicsContext gc) {
+		double[][] bushes = { { -10, 6, 50, 44 }, { 30, 14, 40, 36 }, { 70, 2, 56, 48 }, { 115, 12, 44, 38 },
+				{ 150, 8, 48, 42 } };
+		for (int offset = -BUSH_WIDTH; offset <= BUSH_WIDTH; offset += BUSH_WIDTH) {
+			for (double[] bush : bushes) {
+				gc.setFill(BUSH_SHADE);
+				gc.fillOval(bush[0] + offset, bush[1], bush[2], bush[3]);
+				gc.setFill(BUSH);
+				gc.fillOval(bush[0] + offset + 3, bush[1] + 3, bush[2] - 6, bush[3] - 6);
+			}
+		}
+		gc.fillRect(0, 28, BUSH_WIDTH, BUSH_HEIGHT - 28);
 	}
 
 	@Override
@@ -47,10 +114,35 @@ public class Background extends GameObject implements Updatable, Renderable {
 		return render;
 	}
 
+	public void reset() {
+		distance = 0;
+		previousDistance = 0;
+		interpolate(1);
+	}
+
 	@Override
 	public void update(double deltaTime) {
-		posX += -Config.currentSpeed * deltaTime * 0.01;
-		render.setTranslateX(posX % cityWidth);
+		previousDistance = distance;
+		distance += -world.getSpeed() * deltaTime;
+	}
+
+	@Override
+	public void interpolate(double alpha) {
+		double interpolated = previousDistance + (distance - previousDistance) * alpha;
+		for (int i = 0; i < layers.length; i++) {
+			layers[i].scroll(interpolated);
+		}
+	}
+
+	@Override
+	public void draw(GraphicsContext gc) {
+		gc.setFill(SKY);
+		gc.fillRect(0, 0, sky.getWidth(), sky.getHeight());
+		layers[0].draw(gc);
+		layers[1].draw(gc);
+		gc.setFill(GRASS);
+		gc.fillRect(0, grass.getTranslateY(), grass.getWidth(), grass.getHeight());
+		layers[2].draw(gc);
 	}
 
 	@Override
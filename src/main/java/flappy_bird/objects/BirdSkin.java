@@ -0,0 +1,54 @@
+package flappy_bird.objects;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import flappy_bird.simulation.BirdState;
+import flappy_bird.utils.AssetRegistry;
+import flappy_bird.utils.Utils;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+// Bird color variants. Frames of a skin are recolored the first time that skin
+// is shown and cached for the rest of the process
+public enum BirdSkin {
+	// beak, belly, body shadow, body, body light
+	ORIGINAL(Color.rgb(247, 182, 67), Color.rgb(215, 229, 204), Color.rgb(208, 48, 21),
+			Color.rgb(249, 58, 28), Color.rgb(249, 115, 39)),
+	BLUE(Color.rgb(228, 96, 23), Color.rgb(215, 229, 204), Color.rgb(65, 163, 209),
+			Color.rgb(74, 193, 248), Color.rgb(84, 208, 255)),
+	YELLOW(Color.rgb(252, 56, 0), Color.rgb(252, 216, 132), Color.rgb(224, 128, 44),
+			Color.rgb(249, 183, 51), Color.rgb(250, 215, 140)),
+	GREEN(Color.rgb(247, 182, 67), Color.rgb(215, 229, 204), Color.rgb(46, 125, 50),
+			Color.rgb(76, 175, 80), Color.rgb(129, 199, 132)),
+	PURPLE(Color.rgb(247, 182, 67), Color.rgb(215, 229, 204), Color.rgb(94, 53, 177),
+			Color.rgb(126, 87, 194), Color.rgb(179, 157, 219)),
+	PINK(Color.rgb(252, 56, 0), Color.rgb(252, 228, 236), Color.rgb(194, 24, 91),
+			Color.rgb(236, 64, 122), Color.rgb(244, 143, 177)),
+	GHOST(Color.rgb(189, 189, 189), Color.rgb(250, 250, 250), Color.rgb(117, 117, 117),
+			Color.rgb(158, 158, 158), Color.rgb(224, 224, 224));
+
+	private final Color[] palette;
+	private final Map<String, Image> frames = new ConcurrentHashMap<String, Image>();
+
+	private BirdSkin(Color... palette) {
+		this.palette = palette;
+	}
+
+	public Image getFrame(String path) {
+		return frames.computeIfAbsent(path, p -> {
+			Image base = AssetRegistry.getImage(p, BirdState.WIDTH, BirdState.HEIGHT);
+			return this == ORIGINAL ? base : Utils.reColor(base, ORIGINAL.palette, palette);
+		});
+	}
+
+	public Color[] getPalette() {
+		return palette.clone();
+	}
+
+	public static BirdSkin random(Random random) {
+		BirdSkin[] skins = values();
+		return skins[random.nextInt(skins.length)];
+	}
+}
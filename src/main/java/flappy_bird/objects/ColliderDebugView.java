@@ -0,0 +1,75 @@
+package flappy_bird.objects;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import flappy_bird.collision.AABB;
+import flappy_bird.interfaces.Renderable;
+import flappy_bird.interfaces.Updatable;
+import flappy_bird.simulation.EntityStore;
+import flappy_bird.simulation.World;
+import flappy_bird.utils.GameObject;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+// Debug only: mirrors every collision box into a stroked rectangle
+public class ColliderDebugView extends GameObject implements Updatable, Renderable {
+	private final World world;
+
+	private Group render;
+	private List<Rectangle> rectangles = new ArrayList<Rectangle>();
+	private final AABB scratch = new AABB(0, 0, 0, 0);
+
+	public ColliderDebugView(World world) {
+		this.world = world;
+		render = new Group();
+		render.setViewOrder(-10);
+		render.setMouseTransparent(true);
+	}
+
+	@Override
+	public void update(double deltaTime) {
+		EntityStore entities = world.getEntities();
+
+		int used = 0;
+		show(used++, world.getBird().getBounds(), Color.FUCHSIA);
+		show(used++, world.getGround().getBounds(), Color.FUCHSIA);
+		for (int row = 0; row < entities.size(); row++) {
+			scratch.set(entities.getMinX(row), entities.getMinY(row), entities.getMaxX(row) - entities.getMinX(row),
+					entities.getMaxY(row) - entities.getMinY(row));
+			show(used++, scratch,
+					entities.getKind(row) == EntityStore.KIND_SCORE_ZONE ? Color.WHITE : Color.FUCHSIA);
+		}
+		for (int i = used; i < rectangles.size(); i++) {
+			rectangles.get(i).setVisible(false);
+		}
+	}
+
+	private void show(int index, AABB bounds, Color color) {
+		if (index == rectangles.size()) {
+			Rectangle rectangle = new Rectangle();
+			rectangle.setFill(null);
+			rectangle.setStrokeWidth(2);
+			rectangles.add(rectangle);
+			render.getChildren().add(rectangle);
+		}
+		Rectangle rectangle = rectangles.get(index);
+		rectangle.setX(bounds.getMinX());
+		rectangle.setY(bounds.getMinY());
+		rectangle.setWidth(bounds.getWidth());
+		rectangle.setHeight(bounds.getHeight());
+		rectangle.setStroke(color);
+		rectangle.setVisible(true);
+	}
+
+	@Override
+	public Node getRender() {
+		return render;
+	}
+
+	@Override
+	public void destroy() { }
+
+}
@@ -1,46 +1,144 @@
 package flappy_bird.objects;
 
+import java.util.List;
+
+import flappy_bird.diagnostics.FrameProfiler;
+import flappy_bird.diagnostics.FrameProfiler.Phase;
+import flappy_bird.diagnostics.RollingHistogram;
+import flappy_bird.interfaces.Interpolable;
 import flappy_bird.interfaces.Renderable;
-import flappy_bird.interfaces.Updatable;
+import flappy_bird.simulation.World;
 import flappy_bird.utils.GameObject;
+import flappy_bird.utils.GameObjectBuilder;
+import flappy_bird.utils.QualityGovernor;
+import flappy_bird.utils.QualityTier;
+import flappy_bird.utils.TimeScale;
 import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 
-public class FpsInfo extends GameObject implements Renderable, Updatable {
+// FPS counter, plus the frame profiler numbers while it is enabled (F3)
+public class FpsInfo extends GameObject implements Renderable, Interpolable {
 	private static final int LEFT_MARGIN = 5;
 	private static final int TOP_MARGIN = 5;
-	private static final double ONE_SECOND = 1.0;
+	private static final long ONE_SECOND = 1_000_000_000;
+	private static final long PROFILE_REFRESH = 250_000_000;
+	private static final double NANOS_IN_MILLI = 1_000_000.0;
+	private static final String[] COLUMNS = { "min", "p50", "p95", "p99", "max" };
+
+	private final World world;
+	private final FrameProfiler profiler = FrameProfiler.getInstance();
 
 	private Text text;
+	private Text profileText;
 	private VBox render;
 
 	private int frameCount = 0;
-	private double elapsedTime = 0;
+	private long secondStart = System.nanoTime();
+	private long lastProfileRefresh = 0;
+	private final StringBuilder profile = new StringBuilder();
+
+	public FpsInfo(World world) {
+		this.world = world;
 
-	public FpsInfo() {
 		text = new Text("FPS: --");
+		profileText = new Text();
+		profileText.setVisible(false);
+		profileText.setManaged(false);
 
-		render = new VBox(text);
+		render = new VBox(text, profileText);
 		render.setTranslateX(LEFT_MARGIN);
 		render.setTranslateY(TOP_MARGIN);
+		render.setMouseTransparent(true);
 
 		text.setFont(Font.font("MONOSPACED"));
 		text.setFill(Color.BLACK);
+		profileText.setFont(Font.font("MONOSPACED"));
+		profileText.setFill(Color.BLACK);
 	}
 
+	// Called once per rendered frame, simulation steps run at a fixed rate instead
 	@Override
-	public void update(double deltaTime) {
+	public void interpolate(double alpha) {
 		frameCount++;
-		elapsedTime += deltaTime;
+		long now = System.nanoTime();
 
-		if (elapsedTime >= ONE_SECOND) {
-			text.setText("FPS: " + frameCount);
+		if (now - secondStart >= ONE_SECOND) {
+			double timeScale = TimeScale.getInstance().get();
+			QualityTier tier = QualityGovernor.getInstance().getTier();
+			text.setText("FPS: " + frameCount + (timeScale == 1 ? "" : "  x" + timeScale)
+					+ (tier == QualityTier.HIGH ? "" : "  " + tier));
 			frameCount = 0;
-			elapsedTime -= ONE_SECOND;
+			secondStart += ONE_SECOND;
+			if (now - secondStart >= ONE_SECOND) {
+				secondStart = now;
+			}
+		}
+
+		boolean enabled = profiler.isEnabled();
+		if (enabled != profileText.isVisible()) {
+			profileText.setVisible(enabled);
+			profileText.setManaged(enabled);
+		}
+		if (enabled && now - lastProfileRefresh >= PROFILE_REFRESH) {
+			lastProfileRefresh = now;
+			profileText.setText(buildProfile());
+		}
+	}
+
+	private String buildProfile() {
+		profile.setLength(0);
+		pad("ms", 6);
+		for (String column : COLUMNS) {
+			pad(column, 6);
+		}
+		profile.append('\n');
+		for (Phase phase : Phase.values()) {
+			appendRow(phase.getLabel(), profiler.getHistogram(phase));
+		}
+		appendRow("input", profiler.getInputLatency());
+		appendRow("reset", profiler.getRestartLatency());
+		profile.append("entities ").append(world.getEntities().size());
+		profile.append("  objects ").append(GameObjectBuilder.getInstance().getObjectCount());
+		profile.append("  nodes ").append(render.getScene() == null ? 0 : countNodes(render.getScene().getRoot()));
+		return profile.toString();
+	}
+
+	private void appendRow(String label, RollingHistogram histogram) {
+		pad(label, 6);
+		appendMillis(histogram.getMin());
+		appendMillis(histogram.getPercentile(0.5));
+		appendMillis(histogram.getPercentile(0.95));
+		appendMillis(histogram.getPercentile(0.99));
+		appendMillis(histogram.getMax());
+		profile.append('\n');
+	}
+
+	private void appendMillis(long nanos) {
+		long hundredths = Math.round(nanos / NANOS_IN_MILLI * 100);
+		String value = (hundredths / 100) + "." + (hundredths % 100 < 10 ? "0" : "") + (hundredths % 100);
+		pad(value, 6);
+	}
+
+	private void pad(String value, int width) {
+		for (int i = value.length(); i < width; i++) {
+			profile.append(' ');
+		}
+		profile.append(value);
+	}
+
+	private static int countNodes(Node node) {
+		int count = 1;
+		if (node instanceof Parent) {
+			List<Node> children = ((Parent) node).getChildrenUnmodifiable();
+			for (int i = 0; i < children.size(); i++) {
+				count += countNodes(children.get(i));
+			}
 		}
+		return count;
 	}
 
 	@Override
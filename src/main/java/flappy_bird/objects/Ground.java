@@ -1,44 +1,36 @@
 package flappy_bird.objects;
 
 import flappy_bird.Config;
-import flappy_bird.interfaces.Collideable;
-import flappy_bird.interfaces.Renderable;
-import flappy_bird.interfaces.Updatable;
+import flappy_bird.interfaces.Drawable;
+import flappy_bird.interfaces.Interpolable;
+import flappy_bird.simulation.GroundState;
+import flappy_bird.utils.AssetRegistry;
 import flappy_bird.utils.GameObject;
 import javafx.scene.Node;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.layout.VBox;
-import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.shape.Shape;
 
-public class Ground extends GameObject implements Updatable, Renderable, Collideable {
-	private double posX = 0;
+public class Ground extends GameObject implements Drawable, Interpolable {
+	private final GroundState groundState;
 
 	private VBox render;
-	
-	private Rectangle collider;
+	private ImagePattern pattern;
+
+	public Ground(GroundState groundState) {
+		this.groundState = groundState;
 
-	public Ground() {
-		Image backgroundImage = new Image(ClassLoader.getSystemResourceAsStream("img/ground.png"), 24, 88, false, false);
+		Image backgroundImage = AssetRegistry.getImage("img/ground.png", 24, 88);
 
-		ImagePattern image_pattern = new ImagePattern(backgroundImage, 24, 88, 24, 88, false);
+		pattern = new ImagePattern(backgroundImage, 24, 88, 24, 88, false);
 
 		Rectangle ground = new Rectangle(Config.baseWidth + 24, 88);
-		ground.setFill(image_pattern);
+		ground.setFill(pattern);
 
 		render = new VBox(ground);
 		render.setTranslateY(Config.baseHeight - Config.groundHeight);
-
-		collider = new Rectangle(0, Config.baseHeight - Config.groundHeight, Config.baseWidth, Config.groundHeight);
-		collider.setFill(null);
-		collider.setStroke(Color.FUCHSIA);
-		collider.setStrokeWidth(2);
-	}
-
-	public double getPosX() {
-		return posX;
 	}
 
 	@Override
@@ -47,17 +39,19 @@ public class Ground extends GameObject implements Updatable, Renderable, Collide
 	}
 
 	@Override
-	public void update(double deltaTime) {
-		posX += -Config.currentSpeed * deltaTime;
-
-		render.setTranslateX(posX % 24);
+	public void interpolate(double alpha) {
+		render.setTranslateX(groundState.getInterpolatedPosX(alpha) % 24);
 	}
 	
 	@Override
-	public Shape getCollider() {
-		return collider;
+	public void draw(GraphicsContext gc) {
+		gc.save();
+		gc.translate(render.getTranslateX(), render.getTranslateY());
+		gc.setFill(pattern);
+		gc.fillRect(0, 0, Config.baseWidth + 24, 88);
+		gc.restore();
 	}
-	
+
 	@Override
 	public void destroy() {	}
 	
@@ -0,0 +1,58 @@
+package flappy_bird.objects;
+
+import flappy_bird.Config;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.shape.Rectangle;
+
+// One depth of the background: a tile repeated across the screen by an ImagePattern,
+// scrolled at a fraction of the world speed. Only the tile is a texture, whatever
+// the width covered
+class ParallaxLayer {
+	private final ImagePattern pattern;
+	private final double factor;
+	private final double tileWidth;
+	private final double y;
+	private final double height;
+
+	private final Rectangle render;
+
+	ParallaxLayer(Image tile, double y, double factor) {
+		this.factor = factor;
+		this.tileWidth = tile.getWidth();
+		this.y = y;
+		this.height = tile.getHeight();
+
+		pattern = new ImagePattern(tile, 0, 0, tileWidth, height, false);
+
+		// One tile wider than the screen, so moving it by less than a tile never shows an edge
+		render = new Rectangle(Config.baseWidth + tileWidth, height);
+		render.setFill(pattern);
+		render.setTranslateY(y);
+	}
+
+	// distance: how far the world has scrolled, negative to the left
+	void scroll(double distance) {
+		render.setTranslateX((distance * factor) % tileWidth);
+	}
+
+	void setVisible(boolean visible) {
+		render.setVisible(visible);
+	}
+
+	void draw(GraphicsContext gc) {
+		if (!render.isVisible()) {
+			return;
+		}
+		gc.save();
+		gc.translate(render.getTranslateX(), y);
+		gc.setFill(pattern);
+		gc.fillRect(0, 0, Config.baseWidth + tileWidth, height);
+		gc.restore();
+	}
+
+	Rectangle getRender() {
+		return render;
+	}
+}
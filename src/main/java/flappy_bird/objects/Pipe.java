@@ -1,97 +1,120 @@
 package flappy_bird.objects;
 
 import flappy_bird.Config;
-import flappy_bird.interfaces.Collideable;
-import flappy_bird.interfaces.Renderable;
-import flappy_bird.interfaces.Updatable;
+import flappy_bird.interfaces.Drawable;
+import flappy_bird.interfaces.Interpolable;
+import flappy_bird.interfaces.QualityAware;
+import flappy_bird.simulation.EntityStore;
+import flappy_bird.simulation.World;
+import flappy_bird.utils.AssetRegistry;
 import flappy_bird.utils.GameObject;
-import flappy_bird.utils.GameObjectBuilder;
+import flappy_bird.utils.QualityGovernor;
+import flappy_bird.utils.QualityTier;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.VBox;
-import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.shape.Shape;
 
-public class Pipe extends GameObject implements Updatable, Renderable, Collideable {
-	private double posX;
-
-	private final int width = 78;
-	@SuppressWarnings("unused")
-	private final int height;
+// Pipe sprite, pooled by PipeBuilder and bound to whichever pipe entity it shows
+public class Pipe extends GameObject implements Drawable, Interpolable, QualityAware {
+	private final int width = World.PIPE_WIDTH;
 	private final int imageHeight = 42;
-	private final int offScreenTolerance = 50;
+
+	private final boolean fromTop;
+	private EntityStore store;
+	private int entity = EntityStore.NO_ENTITY;
 
 	private VBox render;
-	private Rectangle collider;
+	private ImageView imageView;
+	private Rectangle rectanglePattern;
+	private Image pipePattern;
 
-	public Pipe(int x, int height, boolean fromTop) {
-		this.height = height;
+	public Pipe(boolean fromTop) {
+		this.fromTop = fromTop;
 
 		Image pipe;
-		Image pipePattern;
 		if (fromTop) {
-			pipe = new Image(ClassLoader.getSystemResourceAsStream("img/pipe1a.png"), width, imageHeight, false, false);
-			pipePattern = new Image(ClassLoader.getSystemResourceAsStream("img/pipe1b.png"), width, 3, false, false);
+			pipe = AssetRegistry.getImage("img/pipe1a.png", width, imageHeight);
+			pipePattern = AssetRegistry.getImage("img/pipe1b.png", width, 3);
 		} else {
-			pipe = new Image(ClassLoader.getSystemResourceAsStream("img/pipe2a.png"), width, imageHeight, false, false);
-			pipePattern = new Image(ClassLoader.getSystemResourceAsStream("img/pipe2b.png"), width, 3, false, false);
+			pipe = AssetRegistry.getImage("img/pipe2a.png", width, imageHeight);
+			pipePattern = AssetRegistry.getImage("img/pipe2b.png", width, 3);
 		}
-		ImageView imageView = new ImageView(pipe);
+		imageView = new ImageView(pipe);
 		ImagePattern imagePattern = new ImagePattern(pipePattern);
 
-		Rectangle rectanglePattern = new Rectangle(width, height - imageHeight);
+		rectanglePattern = new Rectangle(width, 0);
 		rectanglePattern.setFill(imagePattern);
 		if (fromTop) {
 			render = new VBox(rectanglePattern, imageView);
 		} else {
-			rectanglePattern.setTranslateY(Config.baseHeight - Config.groundHeight - height);
-			imageView.setTranslateY(Config.baseHeight - Config.groundHeight - height);
 			render = new VBox(imageView, rectanglePattern);
 		}
 		render.setViewOrder(1);
+		render.setVisible(false);
+		QualityGovernor.getInstance().register(this);
+	}
 
-		collider = new Rectangle(x, fromTop ? -1e6 : Config.baseHeight - Config.groundHeight - height, width,
-				fromTop ? height + 1e6 : height);
-		collider.setFill(null);
-		collider.setStroke(Color.FUCHSIA);
-		collider.setStrokeWidth(2);
-
-		setPosX(x);
+	@Override
+	public void applyQuality(QualityTier tier) {
+		imageView.setSmooth(tier.hasSmoothImages());
 	}
 
-	public double getPosX() {
-		return posX;
+	public void bind(EntityStore store, int entity) {
+		this.store = store;
+		this.entity = entity;
+
+		int row = store.rowOf(entity);
+		int height = store.getSpriteHeight(row);
+		rectanglePattern.setHeight(height - imageHeight);
+		if (!fromTop) {
+			rectanglePattern.setTranslateY(Config.baseHeight - Config.groundHeight - height);
+			imageView.setTranslateY(Config.baseHeight - Config.groundHeight - height);
+		}
+		render.setTranslateX(store.getPosX(row) - width / 2);
+		render.setVisible(true);
 	}
 
-	private void setPosX(double posX) {
-		this.posX = posX;
-		render.setTranslateX(posX - width / 2);
-		collider.setX(posX - width / 2);
+	public void unbind() {
+		store = null;
+		entity = EntityStore.NO_ENTITY;
+		render.setVisible(false);
 	}
 
-	@Override
-	public void update(double deltaTime) {
-		setPosX(posX + -Config.currentSpeed * deltaTime);
+	public int getEntity() {
+		return entity;
+	}
 
-		if (isOffScreen()) {
-			GameObjectBuilder.getInstance().remove(this);
-		}
+	public boolean isFromTop() {
+		return fromTop;
 	}
 
 	@Override
-	public VBox getRender() {
-		return render;
+	public void interpolate(double alpha) {
+		if (store != null) {
+			// Rows move when other entities are destroyed, the handle does not
+			render.setTranslateX(store.getInterpolatedPosX(store.rowOf(entity), alpha) - width / 2);
+		}
 	}
 
-	public boolean isOffScreen() {
-		return posX + width < -offScreenTolerance;
+	// Same layout as the VBox: body then cap for top pipes, cap then body for bottom ones
+	@Override
+	public void draw(GraphicsContext gc) {
+		double x = render.getTranslateX();
+		double bodyHeight = rectanglePattern.getHeight();
+		double capY = fromTop ? bodyHeight : imageView.getTranslateY();
+		double bodyY = fromTop ? 0 : capY + imageHeight;
+
+		gc.drawImage(imageView.getImage(), x, capY);
+		// The pattern fills the whole rectangle, so it is stretched here too
+		gc.drawImage(pipePattern, x, bodyY, width, bodyHeight);
 	}
 
 	@Override
-	public Shape getCollider() {
-		return collider;
+	public VBox getRender() {
+		return render;
 	}
 	
 	@Override
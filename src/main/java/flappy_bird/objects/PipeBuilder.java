@@ -1,56 +1,74 @@
 package flappy_bird.objects;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import flappy_bird.Config;
-import flappy_bird.interfaces.Updatable;
-import flappy_bird.utils.GameObject;
+import flappy_bird.simulation.EntityStore;
+import flappy_bird.simulation.World;
+import flappy_bird.simulation.WorldListener;
 import flappy_bird.utils.GameObjectBuilder;
+import flappy_bird.utils.ObjectPool;
+
+// Shows the pipe entities spawned by the world. Pipes stay in the scene graph,
+// hidden while pooled, so steady state gameplay does not create any node
+public class PipeBuilder implements WorldListener {
+	private final EntityStore entities;
 
-public class PipeBuilder extends GameObject implements Updatable {
-	private final long NANOS_IN_SECOND = 1_000_000_000;
+	private final ObjectPool<Pipe> topPool;
+	private final ObjectPool<Pipe> bottomPool;
+	private final List<Pipe> activePipes = new ArrayList<Pipe>();
 
-	private boolean running = false;
-	private long pipeTime;
+	public PipeBuilder(World world) {
+		entities = world.getEntities();
+		topPool = new ObjectPool<Pipe>(() -> createPipe(true), Config.pipePoolSize);
+		bottomPool = new ObjectPool<Pipe>(() -> createPipe(false), Config.pipePoolSize);
+	}
 
-	public PipeBuilder() {
+	private Pipe createPipe(boolean fromTop) {
+		Pipe pipe = new Pipe(fromTop);
+		GameObjectBuilder.getInstance().add(pipe);
+		return pipe;
+	}
 
+	// Needs the root node of the builder to be configured
+	public void prewarm() {
+		topPool.prewarm(Config.pipePoolSize);
+		bottomPool.prewarm(Config.pipePoolSize);
 	}
 
 	@Override
-	public void update(double deltaTime) {
-		if (running) {
-			long currentNano = System.nanoTime();
+	public void onEntitySpawned(int entity) {
+		int sprite = entities.getSprite(entities.rowOf(entity));
+		if (sprite == EntityStore.SPRITE_NONE) {
+			return;
+		}
+		Pipe pipe = (sprite == EntityStore.SPRITE_PIPE_TOP ? topPool : bottomPool).obtain();
+		pipe.bind(entities, entity);
+		activePipes.add(pipe);
+	}
 
-			if (currentNano - pipeTime > 0) {
-				pipeTime = currentNano + (long) (Config.pipesPerSecond * NANOS_IN_SECOND);
-				createPipeColumn();
+	@Override
+	public void onEntityRemoved(int entity) {
+		for (int i = 0; i < activePipes.size(); i++) {
+			Pipe pipe = activePipes.get(i);
+			if (pipe.getEntity() == entity) {
+				activePipes.remove(i);
+				pipe.unbind();
+				if (!(pipe.isFromTop() ? topPool : bottomPool).release(pipe)) {
+					GameObjectBuilder.getInstance().remove(pipe);
+				}
+				return;
 			}
 		}
 	}
 
-	public void startBuilding(long delayInNano) {
-		running = true;
-		this.pipeTime = System.nanoTime() + delayInNano;
+	public ObjectPool<Pipe> getTopPool() {
+		return topPool;
 	}
 
-	public void stopBuilding() {
-		running = false;
+	public ObjectPool<Pipe> getBottomPool() {
+		return bottomPool;
 	}
 
-	public void createPipeColumn() {
-		double random = Math.random();
-
-		int totalHeight = Config.baseHeight - Config.groundHeight;
-		int emptySpace = (int) (totalHeight * Config.emptySpace);
-		int topPipeHeight = (int) (50 + random * (Config.baseHeight - 400));
-		int x = (int) (Config.baseWidth * 1.2);
-
-		Pipe topPipe = new Pipe(x, totalHeight - topPipeHeight - emptySpace, true);
-		Pipe bottomPipe = new Pipe(x, topPipeHeight, false);
-		ScoreCollider scoreCollider = new ScoreCollider(x);
-		GameObjectBuilder.getInstance().add(topPipe, bottomPipe, scoreCollider);
-	}
-	
-	@Override
-	public void destroy() {	}
-	
 }
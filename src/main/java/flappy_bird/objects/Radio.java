@@ -1,10 +1,17 @@
 package flappy_bird.objects;
 
 import flappy_bird.Config;
-import flappy_bird.interfaces.Renderable;
+import flappy_bird.interfaces.Drawable;
+import flappy_bird.interfaces.Interpolable;
+import flappy_bird.interfaces.QualityAware;
 import flappy_bird.interfaces.Updatable;
+import flappy_bird.simulation.World;
+import flappy_bird.utils.AssetRegistry;
 import flappy_bird.utils.GameObject;
-import flappy_bird.utils.GameObjectBuilder;
+import flappy_bird.utils.QualityGovernor;
+import flappy_bird.utils.QualityTier;
+import flappy_bird.utils.TimeScale;
+import flappy_bird.utils.Utils;
 import javafx.animation.Animation;
 import javafx.animation.Interpolator;
 import javafx.animation.ParallelTransition;
@@ -12,13 +19,15 @@ import javafx.animation.RotateTransition;
 import javafx.animation.ScaleTransition;
 import javafx.animation.SequentialTransition;
 import javafx.animation.TranslateTransition;
+import javafx.scene.CacheHint;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.util.Duration;
 
-public class Radio extends GameObject implements Updatable, Renderable {
+public class Radio extends GameObject implements Updatable, Drawable, Interpolable, QualityAware {
 	// Sprite dimensions
 	private static final int WIDTH = 50;
 	private static final int HEIGHT = 43;
@@ -32,7 +41,8 @@ public class Radio extends GameObject implements Updatable, Renderable {
 
 	// Sound distance constants
 	private static final double MAX_SOUND_DISTANCE = 1500;
-	private static final double REMOVE_DISTANCE = 5000;
+	// Out of sight and hearing, it waits hidden for the next game
+	private static final double PARK_DISTANCE = 5000;
 
 	// Custom interpolators for physics-like animation
 	private static final Interpolator EASE_IN_QUAD = new Interpolator() {
@@ -49,23 +59,29 @@ public class Radio extends GameObject implements Updatable, Renderable {
 		}
 	};
 
+	private final World world;
 	private final FlappyBird player;
 	private final double radioBaseY;
+	private final double startX;
 
 	private MediaPlayer mediaPlayer;
 	private ImageView render;
 	private Image image;
 	private double posX;
+	private double previousPosX;
 	private boolean started = false;
 	private boolean inAir = true;
 
 	private Animation thrownAnimation;
 
-	public Radio(double posX, double posY, FlappyBird player) {
+	public Radio(double posX, double posY, FlappyBird player, World world) {
+		this.world = world;
 		this.posX = posX;
+		this.previousPosX = posX;
+		this.startX = posX;
 		this.player = player;
 
-		image = new Image(ClassLoader.getSystemResourceAsStream("img/portal-radio.png"), WIDTH, HEIGHT, false, false);
+		image = AssetRegistry.getImage("img/portal-radio.png", WIDTH, HEIGHT);
 		render = new ImageView(image);
 		render.setTranslateX(posX - WIDTH / 2);
 
@@ -74,11 +90,22 @@ public class Radio extends GameObject implements Updatable, Renderable {
 		render.translateYProperty().bind(
 				player.getRender().translateYProperty().add(radioBaseY));
 
-		Media loop = new Media(ClassLoader.getSystemResource("snd/looping-radio-mix.mp3").toString());
+		Media loop = AssetRegistry.getMedia("snd/looping-radio-mix.mp3");
 		mediaPlayer = new MediaPlayer(loop);
 		mediaPlayer.setVolume(1);
 		mediaPlayer.setCycleCount(MediaPlayer.INDEFINITE);
+		TimeScale.getInstance().register(mediaPlayer);
 		mediaPlayer.play();
+
+		QualityGovernor.getInstance().register(this);
+	}
+
+	// The throw rotates and scales the sprite every frame
+	@Override
+	public void applyQuality(QualityTier tier) {
+		render.setSmooth(tier.hasSmoothImages());
+		render.setCache(tier.cachesNodes());
+		render.setCacheHint(CacheHint.SPEED);
 	}
 
 	public void start() {
@@ -92,6 +119,29 @@ public class Radio extends GameObject implements Updatable, Renderable {
 		thrownAnimation.setOnFinished(e -> inAir = false);
 	}
 
+	// Back in the bird's hands with the loop playing from the start, also after it was parked
+	public void reset() {
+		if (thrownAnimation != null) {
+			thrownAnimation.stop();
+			thrownAnimation = null;
+		}
+		started = false;
+		inAir = true;
+		posX = startX;
+		previousPosX = startX;
+		render.setTranslateX(posX - WIDTH / 2);
+		render.setRotate(0);
+		render.setScaleX(1);
+		render.setScaleY(1);
+		render.setVisible(true);
+		render.translateYProperty().bind(player.getRender().translateYProperty().add(radioBaseY));
+
+		mediaPlayer.setBalance(0);
+		mediaPlayer.setVolume(1);
+		mediaPlayer.seek(Duration.ZERO);
+		mediaPlayer.play();
+	}
+
 	private Animation initThrownAnimation() {
 		// Rising phase (1/3 of duration) - decelerates like throwing upward
 		TranslateTransition riseTransition = new TranslateTransition(THROW_DURATION.divide(3));
@@ -113,7 +163,13 @@ public class Radio extends GameObject implements Updatable, Renderable {
 		scaleTransition.setToX(LANDED_SCALE);
 		scaleTransition.setToY(LANDED_SCALE);
 
-		return new ParallelTransition(render, translateSequence, rotateTransition, scaleTransition);
+		return TimeScale.getInstance()
+				.register(new ParallelTransition(render, translateSequence, rotateTransition, scaleTransition));
+	}
+
+	@Override
+	public void draw(GraphicsContext gc) {
+		Utils.drawImageView(gc, render);
 	}
 
 	@Override
@@ -129,14 +185,14 @@ public class Radio extends GameObject implements Updatable, Renderable {
 
 		// Move slower while in air, normal speed on ground
 		double speedFactor = inAir ? AIR_SPEED_FACTOR : 1;
-		posX -= Config.currentSpeed * deltaTime * speedFactor;
-		render.setTranslateX(posX - WIDTH / 2);
+		previousPosX = posX;
+		posX -= world.getSpeed() * deltaTime * speedFactor;
 
 		// Calculate distance for spatial audio
 		double distance = Math.hypot(player.getX() - posX, player.getY() - render.getTranslateY());
 
-		if (distance > REMOVE_DISTANCE) {
-			GameObjectBuilder.getInstance().remove(this);
+		if (distance > PARK_DISTANCE) {
+			park();
 		} else {
 			// Stereo balance based on horizontal distance
 			mediaPlayer.setBalance(-distance / MAX_SOUND_DISTANCE);
@@ -146,9 +202,25 @@ public class Radio extends GameObject implements Updatable, Renderable {
 		}
 	}
 
+	@Override
+	public void interpolate(double alpha) {
+		if (started) {
+			render.setTranslateX(previousPosX + (posX - previousPosX) * alpha - WIDTH / 2);
+		}
+	}
+
+	// Stays in the builder with its player and node, so a restart does not build new ones
+	private void park() {
+		started = false;
+		render.setVisible(false);
+		mediaPlayer.pause();
+	}
+
 	@Override
 	public void destroy() {
 		mediaPlayer.stop();
+		// Native resources, released only when the radio is gone for good
+		mediaPlayer.dispose();
 	}
 
 }
@@ -1,24 +1,36 @@
 package flappy_bird.objects;
 
+import java.util.List;
+
 import flappy_bird.Config;
+import flappy_bird.interfaces.QualityAware;
 import flappy_bird.interfaces.Renderable;
+import flappy_bird.leaderboard.LeaderboardClient;
+import flappy_bird.leaderboard.ScoreEntry;
+import flappy_bird.simulation.WorldListener;
+import flappy_bird.stats.ScoreStore;
+import flappy_bird.utils.AssetRegistry;
 import flappy_bird.utils.AudioResources;
 import flappy_bird.utils.GameObject;
+import flappy_bird.utils.QualityGovernor;
+import flappy_bird.utils.QualityTier;
+import flappy_bird.utils.SoundEffect;
+import flappy_bird.utils.TimeScale;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.geometry.Pos;
+import javafx.scene.CacheHint;
 import javafx.scene.Node;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.layout.VBox;
-import javafx.scene.media.AudioClip;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.util.Duration;
 
-public class Score extends GameObject implements Renderable {
+public class Score extends GameObject implements Renderable, WorldListener, QualityAware {
 	// Layout constants
 	private static final int TOP_MARGIN = 15;
 	private static final int SPACING = 5;
@@ -33,17 +45,19 @@ public class Score extends GameObject implements Renderable {
 	private static final Duration PULSE_TOTAL_TIME = Duration.millis(400);
 
 	private int score = 0;
+	private int maxScore = getTopScore();
 
 	private Text scoreText;
 	private Text maxScoreText;
 	private VBox render;
+	private DropShadow shadow;
 
 	private Timeline pulseAnimation;
-	private AudioClip pointAudio;
+	private SoundEffect pointAudio;
 
 	public Score() {
 		scoreText = new Text("" + score);
-		maxScoreText = new Text("TOP: " + Config.maxScore);
+		maxScoreText = new Text("TOP: " + maxScore);
 
 		render = new VBox(maxScoreText, scoreText);
 		render.setSpacing(SPACING);
@@ -53,22 +67,22 @@ public class Score extends GameObject implements Renderable {
 
 		pointAudio = AudioResources.getPointAudio();
 
-		Font font = Font.loadFont(ClassLoader.getSystemResource("font/flappy-bird-numbers.ttf").toString(), SCORE_FONT_SIZE);
+		Font font = AssetRegistry.getFont("font/flappy-bird-numbers.ttf", SCORE_FONT_SIZE);
 		scoreText.setTextAlignment(TextAlignment.CENTER);
 		scoreText.setFont(font);
 		scoreText.setFill(Color.BLACK);
 
 		maxScoreText.setFont(Font.font("MONOSPACE", HIGH_SCORE_FONT_SIZE));
 
-		DropShadow ds = new DropShadow();
-		ds.setColor(Color.WHITE);
-		scoreText.setEffect(ds);
+		shadow = new DropShadow();
+		shadow.setColor(Color.WHITE);
 
 		pulseAnimation = initPulseAnimation();
+		QualityGovernor.getInstance().register(this);
 	}
 
 	private Timeline initPulseAnimation() {
-		return new Timeline(
+		return TimeScale.getInstance().register(new Timeline(
 				new KeyFrame(Duration.ZERO,
 						new KeyValue(scoreText.scaleXProperty(), 1),
 						new KeyValue(scoreText.scaleYProperty(), 1)),
@@ -77,7 +91,7 @@ public class Score extends GameObject implements Renderable {
 						new KeyValue(scoreText.scaleYProperty(), PULSE_PEAK_SCALE)),
 				new KeyFrame(PULSE_TOTAL_TIME,
 						new KeyValue(scoreText.scaleXProperty(), 1),
-						new KeyValue(scoreText.scaleYProperty(), 1)));
+						new KeyValue(scoreText.scaleYProperty(), 1))));
 	}
 
 	@Override
@@ -85,8 +99,17 @@ public class Score extends GameObject implements Renderable {
 		return render;
 	}
 
-	public void increase() {
-		score++;
+	// The pulse scales the text, a cached bitmap is scaled instead of laying out glyphs again
+	@Override
+	public void applyQuality(QualityTier tier) {
+		scoreText.setEffect(tier.hasEffects() ? shadow : null);
+		scoreText.setCache(tier.cachesNodes());
+		scoreText.setCacheHint(CacheHint.SPEED);
+	}
+
+	@Override
+	public void onScore(int score) {
+		this.score = score;
 		scoreText.setText("" + score);
 		this.updateHighScore();
 
@@ -94,15 +117,39 @@ public class Score extends GameObject implements Renderable {
 		pointAudio.play();
 	}
 
+	public void reset() {
+		score = 0;
+		scoreText.setText("0");
+		pulseAnimation.stop();
+		scoreText.setScaleX(1);
+		scoreText.setScaleY(1);
+		maxScore = Math.max(maxScore, getTopScore());
+		maxScoreText.setText("TOP: " + maxScore);
+	}
+
 	public int getScore() {
 		return score;
 	}
 	
 	public void updateHighScore() {
-		if (this.score > Config.maxScore) {
-			Config.maxScore = this.score;
-			maxScoreText.setText("TOP: " + Config.maxScore);
+		// Only the view, the game is saved once it is over
+		int top = Math.max(this.score, getTopScore());
+		if (top > maxScore) {
+			maxScore = top;
+			maxScoreText.setText("TOP: " + maxScore);
+		}
+	}
+
+	// Own best, or the leaderboard best when there is one. Both are cached, no I/O here
+	private static int getTopScore() {
+		int top = ScoreStore.getInstance().getBestScore(Config.player);
+		if (Config.leaderboardUrl != null) {
+			List<ScoreEntry> entries = LeaderboardClient.getInstance().getTop();
+			if (!entries.isEmpty()) {
+				top = Math.max(top, entries.get(0).getScore());
+			}
 		}
+		return top;
 	}
 
 	@Override
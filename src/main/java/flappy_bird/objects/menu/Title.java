@@ -1,11 +1,16 @@
 package flappy_bird.objects.menu;
 
 import flappy_bird.Config;
+import flappy_bird.interfaces.QualityAware;
 import flappy_bird.interfaces.Renderable;
 import flappy_bird.utils.GameObject;
+import flappy_bird.utils.QualityGovernor;
+import flappy_bird.utils.QualityTier;
+import flappy_bird.utils.TimeScale;
 import javafx.animation.Animation;
 import javafx.animation.TranslateTransition;
 import javafx.geometry.Pos;
+import javafx.scene.CacheHint;
 import javafx.scene.Node;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
@@ -15,7 +20,7 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.util.Duration;
 
-public class Title extends GameObject implements Renderable {
+public class Title extends GameObject implements Renderable, QualityAware {
 	private final int Y = Config.baseHeight / 3 - 35;
 	
 	private final TranslateTransition idleAnimation;
@@ -40,6 +45,7 @@ public class Title extends GameObject implements Renderable {
 		text.setFill(Color.DARKGREEN);
 		
 		idleAnimation = initIdleAnimation();
+		QualityGovernor.getInstance().register(this);
 	}
 
 	@Override
@@ -53,10 +59,22 @@ public class Title extends GameObject implements Renderable {
 		translateTransition.setFromY(Y -10);
 		translateTransition.setToY(Y + 10);
 		translateTransition.setAutoReverse(true);
+		TimeScale.getInstance().register(translateTransition);
 		translateTransition.play();
 		return translateTransition;
 	}
 
+	@Override
+	public void applyQuality(QualityTier tier) {
+		render.setCache(tier.cachesNodes());
+		render.setCacheHint(CacheHint.SPEED);
+		if (tier.hasIdleAnimations()) {
+			idleAnimation.play();
+		} else {
+			idleAnimation.pause();
+		}
+	}
+
 	@Override
 	public void destroy() {
 		idleAnimation.stop();
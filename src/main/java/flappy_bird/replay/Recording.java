@@ -0,0 +1,206 @@
+package flappy_bird.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import flappy_bird.simulation.GameRules;
+
+// Everything needed to play a game again: seed, tick rate, rules and the flaps,
+// each one as the tick it was requested before plus its offset inside that step.
+// Binary layout (big endian): magic, version, seed, tick rate, bird position,
+// rules, flap count, then per flap the tick delta (varint) and the offset (u16),
+// and finally the last tick and the score (varints)
+public class Recording {
+	// Offsets are kept to 1/65536 of a step, the game applies the rounded value
+	// so a replay sees exactly the same doubles
+	public static final int STEP_OFFSET_UNITS = 1 << 16;
+
+	private static final int MAGIC = 0x46425250; // "FBRP"
+	private static final byte VERSION = 1;
+
+	private final long seed;
+	private final int tickRate;
+	private final double birdX;
+	private final double birdY;
+	private final GameRules rules;
+
+	private long[] flapTicks = new long[64];
+	private int[] flapOffsets = new int[64];
+	private int flapCount = 0;
+
+	private long finalTick = -1;
+	private int finalScore = 0;
+
+	public Recording(long seed, int tickRate, double birdX, double birdY, GameRules rules) {
+		this.seed = seed;
+		this.tickRate = tickRate;
+		this.birdX = birdX;
+		this.birdY = birdY;
+		this.rules = rules;
+	}
+
+	public static int toUnits(double stepOffset) {
+		return (int) Math.max(0, Math.min(STEP_OFFSET_UNITS - 1, Math.floor(stepOffset * STEP_OFFSET_UNITS)));
+	}
+
+	public static double toStepOffset(int units) {
+		return units / (double) STEP_OFFSET_UNITS;
+	}
+
+	// tick: steps taken by the world when the flap was requested
+	// Ignored once finished: the recording may be being saved on another thread
+	public void addFlap(long tick, int offsetUnits) {
+		if (isFinished()) {
+			return;
+		}
+		if (flapCount == flapTicks.length) {
+			flapTicks = Arrays.copyOf(flapTicks, flapCount * 2);
+			flapOffsets = Arrays.copyOf(flapOffsets, flapCount * 2);
+		}
+		flapTicks[flapCount] = tick;
+		flapOffsets[flapCount] = offsetUnits;
+		flapCount++;
+	}
+
+	public void finish(long tick, int score) {
+		finalTick = tick;
+		finalScore = score;
+	}
+
+	public boolean isFinished() {
+		return finalTick >= 0;
+	}
+
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeLong(seed);
+		data.writeInt(tickRate);
+		data.writeDouble(birdX);
+		data.writeDouble(birdY);
+		data.writeDouble(rules.getGravity());
+		data.writeDouble(rules.getJumpForce());
+		data.writeDouble(rules.getSpeed());
+		data.writeDouble(rules.getEmptySpace());
+		data.writeDouble(rules.getPipesPerSecond());
+
+		writeVarLong(data, flapCount);
+		long previousTick = 0;
+		for (int i = 0; i < flapCount; i++) {
+			writeVarLong(data, flapTicks[i] - previousTick);
+			data.writeShort(flapOffsets[i]);
+			previousTick = flapTicks[i];
+		}
+		writeVarLong(data, finalTick);
+		writeVarLong(data, finalScore);
+		data.flush();
+	}
+
+	public static Recording read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+		if (data.readInt() != MAGIC) {
+			throw new IOException("Not a recording");
+		}
+		byte version = data.readByte();
+		if (version != VERSION) {
+			throw new IOException("Unsupported recording version " + version);
+		}
+		long seed = data.readLong();
+		int tickRate = data.readInt();
+		double birdX = data.readDouble();
+		double birdY = data.readDouble();
+		GameRules rules = new GameRules(data.readDouble(), data.readDouble(), data.readDouble(), data.readDouble(),
+				data.readDouble());
+		Recording recording = new Recording(seed, tickRate, birdX, birdY, rules);
+
+		long count = readVarLong(data);
+		long tick = 0;
+		for (long i = 0; i < count; i++) {
+			tick += readVarLong(data);
+			recording.addFlap(tick, data.readUnsignedShort());
+		}
+		recording.finish(readVarLong(data), (int) readVarLong(data));
+		return recording;
+	}
+
+	public void save(Path path) throws IOException {
+		try (OutputStream out = Files.newOutputStream(path)) {
+			write(out);
+		}
+	}
+
+	public static Recording load(Path path) throws IOException {
+		try (InputStream in = Files.newInputStream(path)) {
+			return read(in);
+		}
+	}
+
+	private static void writeVarLong(DataOutputStream data, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			data.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		data.writeByte((int) value);
+	}
+
+	private static long readVarLong(DataInputStream data) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = data.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getTickRate() {
+		return tickRate;
+	}
+
+	public double getBirdX() {
+		return birdX;
+	}
+
+	public double getBirdY() {
+		return birdY;
+	}
+
+	public GameRules getRules() {
+		return rules;
+	}
+
+	public int getFlapCount() {
+		return flapCount;
+	}
+
+	public long getFlapTick(int index) {
+		return flapTicks[index];
+	}
+
+	public int getFlapOffset(int index) {
+		return flapOffsets[index];
+	}
+
+	public long getFinalTick() {
+		return finalTick;
+	}
+
+	public int getFinalScore() {
+		return finalScore;
+	}
+}
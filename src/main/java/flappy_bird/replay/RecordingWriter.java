@@ -0,0 +1,67 @@
+package flappy_bird.replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Saves finished recordings on a background thread, the game ends in the middle
+// of a step and the frame of the death must not wait for the disk
+public class RecordingWriter {
+	private static final Logger LOGGER = Logger.getLogger(RecordingWriter.class.getName());
+
+	private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+	private static RecordingWriter instance = null;
+
+	private final ThreadPoolExecutor writer;
+	private boolean closed = false;
+
+	private RecordingWriter() {
+		writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+			Thread thread = new Thread(runnable, "recording-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public static RecordingWriter getInstance() {
+		if (instance == null) {
+			instance = new RecordingWriter();
+		}
+		return instance;
+	}
+
+	// The recording must be finished, it does not change after that
+	public void save(Recording recording, Path file) {
+		if (closed) {
+			return;
+		}
+		writer.execute(() -> {
+			try {
+				Files.createDirectories(file.getParent());
+				recording.save(file);
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Could not save recording " + file, e);
+			}
+		});
+	}
+
+	// Waits a little for the recordings still queued
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		writer.shutdown();
+		try {
+			writer.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package flappy_bird.replay;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+import flappy_bird.simulation.World;
+
+// Plays recordings again without rendering, as fast as the simulation goes,
+// and checks that each one ends with the recorded score:
+//   java -cp target/classes flappy_bird.replay.Replayer recordings/*.fbr
+// Exits with 1 if any recording does not match
+public class Replayer {
+
+	public static World replay(Recording recording) {
+		World world = new World(recording.getRules(), recording.getBirdX(), recording.getBirdY(),
+				recording.getSeed());
+		double step = 1.0 / recording.getTickRate();
+
+		int nextFlap = 0;
+		while (world.getTick() < recording.getFinalTick()) {
+			while (nextFlap < recording.getFlapCount() && recording.getFlapTick(nextFlap) == world.getTick()) {
+				world.flap(Recording.toStepOffset(recording.getFlapOffset(nextFlap)));
+				nextFlap++;
+			}
+			world.step(step);
+		}
+		return world;
+	}
+
+	public static boolean verify(Recording recording) {
+		return replay(recording).getScore() == recording.getFinalScore();
+	}
+
+	public static void main(String[] args) {
+		boolean allMatch = true;
+		for (String arg : args) {
+			Path path = Paths.get(arg);
+			try {
+				Recording recording = Recording.load(path);
+				long start = System.nanoTime();
+				World world = replay(recording);
+				double seconds = (System.nanoTime() - start) / 1e9;
+
+				boolean match = world.getScore() == recording.getFinalScore();
+				allMatch &= match;
+				System.out.println(String.format(Locale.ROOT,
+						"%s %s: score %d (recorded %d), %d ticks, %d flaps, %.1f ms (%.0fx real time)",
+						match ? "OK" : "MISMATCH", path.getFileName(), world.getScore(), recording.getFinalScore(),
+						world.getTick(), recording.getFlapCount(), seconds * 1000,
+						world.getTick() / (double) recording.getTickRate() / seconds));
+			} catch (IOException e) {
+				allMatch = false;
+				System.out.println("ERROR " + path.getFileName() + ": " + e.getMessage());
+			}
+		}
+		System.exit(allMatch ? 0 : 1);
+	}
+}
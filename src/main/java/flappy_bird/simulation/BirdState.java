@@ -0,0 +1,162 @@
+package flappy_bird.simulation;
+
+import flappy_bird.collision.AABB;
+
+public class BirdState {
+	// Body dimensions
+	public static final int WIDTH = 51;
+	public static final int HEIGHT = 36;
+
+	// Rotation constants
+	private static final double ROTATION_THRESHOLD = 0.6;
+	private static final double ROTATION_SPEED = 250;
+	private static final double ROTATION_ON_PUSH = -20;
+	private static final double ROTATION_MIN = -30;
+	private static final double ROTATION_MAX = 90;
+
+	// Collider
+	private static final double COLLIDER_TOLERANCE = 0.5;
+	private static final int COLLIDER_WIDTH = (int) (WIDTH * COLLIDER_TOLERANCE);
+	private static final int COLLIDER_HEIGHT = (int) (HEIGHT * COLLIDER_TOLERANCE);
+
+	private final World world;
+
+	private final double startY;
+
+	private double posX;
+	private double posY;
+	private double previousPosY;
+	private double velY = 0;
+	private double rotation = 0;
+	private double previousRotation = 0;
+	private double timeStandby = 0;
+
+	private boolean idle = true;
+	private boolean dead = false;
+	private boolean grounded = false;
+
+	private final AABB bounds;
+
+	BirdState(World world, double x, double y) {
+		this.world = world;
+		posX = x;
+		posY = y;
+		startY = y;
+		previousPosY = y;
+		bounds = new AABB(posX - COLLIDER_WIDTH / 2, posY - COLLIDER_HEIGHT / 2, COLLIDER_WIDTH, COLLIDER_HEIGHT);
+	}
+
+	void update(double deltaTime) {
+		previousPosY = posY;
+		previousRotation = rotation;
+		integrate(deltaTime);
+	}
+
+	// Flaps flapAt (fraction of the step, [0, 1)) into the step instead of at its start
+	boolean update(double deltaTime, double flapAt) {
+		previousPosY = posY;
+		previousRotation = rotation;
+		integrate(deltaTime * flapAt);
+		boolean pushed = push();
+		integrate(deltaTime * (1 - flapAt));
+		return pushed;
+	}
+
+	void reset() {
+		setY(startY);
+		previousPosY = startY;
+		velY = 0;
+		rotation = 0;
+		previousRotation = 0;
+		timeStandby = 0;
+		idle = true;
+		dead = false;
+		grounded = false;
+	}
+
+	private void integrate(double deltaTime) {
+		timeStandby += deltaTime;
+		setY(posY + velY * deltaTime);
+
+		if (!idle) {
+			if (!grounded) {
+				velY += world.getRules().getGravity() * deltaTime;
+			}
+
+			if (timeStandby > 0) {
+				rotation = Math.min(ROTATION_MIN + timeStandby * ROTATION_SPEED, ROTATION_MAX);
+			}
+		}
+	}
+
+	boolean push() {
+		if (dead) {
+			return false;
+		}
+		idle = false;
+		velY = -world.getRules().getJumpForce();
+		timeStandby = -ROTATION_THRESHOLD;
+		rotation = ROTATION_ON_PUSH;
+		return true;
+	}
+
+	private void setY(double posY) {
+		this.posY = posY;
+		bounds.setY(posY - COLLIDER_HEIGHT / 2);
+	}
+
+	// Returns true only the first time
+	boolean kill() {
+		if (dead) {
+			return false;
+		}
+		dead = true;
+		return true;
+	}
+
+	void land(double groundY) {
+		setY(groundY - HEIGHT / 2);
+		velY = 0;
+		grounded = true;
+	}
+
+	public AABB getBounds() {
+		return bounds;
+	}
+
+	public double getX() {
+		return posX;
+	}
+
+	public double getY() {
+		return posY;
+	}
+
+	public double getInterpolatedY(double alpha) {
+		return previousPosY + (posY - previousPosY) * alpha;
+	}
+
+	public double getVelY() {
+		return velY;
+	}
+
+	public double getRotation() {
+		return rotation;
+	}
+
+	public double getInterpolatedRotation(double alpha) {
+		return previousRotation + (rotation - previousRotation) * alpha;
+	}
+
+	public boolean isIdle() {
+		return idle;
+	}
+
+	public boolean isDead() {
+		return dead;
+	}
+
+	public boolean isGrounded() {
+		return grounded;
+	}
+}
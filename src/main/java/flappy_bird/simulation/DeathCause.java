@@ -0,0 +1,5 @@
+package flappy_bird.simulation;
+
+public enum DeathCause {
+	NONE, PIPE, GROUND
+}
@@ -0,0 +1,221 @@
+package flappy_bird.simulation;
+
+import java.util.Arrays;
+
+// Structure of arrays storage for the short lived entities of a world (pipes and
+// score zones). Every component is a primitive array indexed by a dense row;
+// rows move on removal (swap-remove) but handles stay valid until destroyed
+public class EntityStore {
+	public static final int KIND_PIPE = 0;
+	public static final int KIND_SCORE_ZONE = 1;
+
+	public static final int SPRITE_NONE = 0;
+	public static final int SPRITE_PIPE_TOP = 1;
+	public static final int SPRITE_PIPE_BOTTOM = 2;
+
+	public static final int NO_ENTITY = -1;
+
+	// Handle = generation << SLOT_BITS | slot
+	private static final int SLOT_BITS = 16;
+	private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int count = 0;
+
+	// Dense components, one row per living entity
+	int[] handle = new int[INITIAL_CAPACITY];
+	int[] kind = new int[INITIAL_CAPACITY];
+	// Position and velocity
+	double[] posX = new double[INITIAL_CAPACITY];
+	double[] previousPosX = new double[INITIAL_CAPACITY];
+	double[] velX = new double[INITIAL_CAPACITY];
+	// Collision box relative to posX, and the resulting AABB
+	double[] boxOffsetX = new double[INITIAL_CAPACITY];
+	double[] boxY = new double[INITIAL_CAPACITY];
+	double[] boxWidth = new double[INITIAL_CAPACITY];
+	double[] boxHeight = new double[INITIAL_CAPACITY];
+	double[] minX = new double[INITIAL_CAPACITY];
+	double[] minY = new double[INITIAL_CAPACITY];
+	double[] maxX = new double[INITIAL_CAPACITY];
+	double[] maxY = new double[INITIAL_CAPACITY];
+	// Sprite
+	int[] sprite = new int[INITIAL_CAPACITY];
+	int[] spriteHeight = new int[INITIAL_CAPACITY];
+	// Lifetime, seconds since creation
+	double[] age = new double[INITIAL_CAPACITY];
+
+	// Sparse side: slot -> row, plus a generation to detect stale handles
+	private int[] slotRow = new int[INITIAL_CAPACITY];
+	private int[] slotGeneration = new int[INITIAL_CAPACITY];
+	private int[] freeSlots = new int[INITIAL_CAPACITY];
+	private int freeCount = 0;
+	private int usedSlots = 0;
+
+	public int create(int entityKind, double x, double velocityX, double offsetX, double y, double width, double height,
+			int spriteId, int spriteSize) {
+		ensureCapacity(count + 1);
+
+		int slot = freeCount > 0 ? freeSlots[--freeCount] : usedSlots++;
+		if (slot > SLOT_MASK) {
+			throw new IllegalStateException("Too many entities");
+		}
+		int row = count++;
+		slotRow[slot] = row;
+
+		handle[row] = slotGeneration[slot] << SLOT_BITS | slot;
+		kind[row] = entityKind;
+		posX[row] = x;
+		previousPosX[row] = x;
+		velX[row] = velocityX;
+		boxOffsetX[row] = offsetX;
+		boxY[row] = y;
+		boxWidth[row] = width;
+		boxHeight[row] = height;
+		sprite[row] = spriteId;
+		spriteHeight[row] = spriteSize;
+		age[row] = 0;
+		updateBounds(row);
+
+		return handle[row];
+	}
+
+	// O(1): the last row takes the place of the removed one
+	public void destroy(int entity) {
+		int row = rowOf(entity);
+		if (row == NO_ENTITY) {
+			return;
+		}
+		int slot = entity & SLOT_MASK;
+		slotGeneration[slot] = (slotGeneration[slot] + 1) & (Integer.MAX_VALUE >>> SLOT_BITS);
+		freeSlots[freeCount++] = slot;
+
+		int last = --count;
+		if (row != last) {
+			moveRow(last, row);
+			slotRow[handle[row] & SLOT_MASK] = row;
+		}
+	}
+
+	public void clear() {
+		while (count > 0) {
+			destroy(handle[count - 1]);
+		}
+	}
+
+	public boolean isAlive(int entity) {
+		return rowOf(entity) != NO_ENTITY;
+	}
+
+	public int rowOf(int entity) {
+		if (entity < 0) {
+			return NO_ENTITY;
+		}
+		int slot = entity & SLOT_MASK;
+		if (slot >= usedSlots || slotGeneration[slot] != entity >>> SLOT_BITS) {
+			return NO_ENTITY;
+		}
+		return slotRow[slot];
+	}
+
+	void updateBounds(int row) {
+		minX[row] = posX[row] + boxOffsetX[row];
+		minY[row] = boxY[row];
+		maxX[row] = minX[row] + boxWidth[row];
+		maxY[row] = boxY[row] + boxHeight[row];
+	}
+
+	private void moveRow(int from, int to) {
+		handle[to] = handle[from];
+		kind[to] = kind[from];
+		posX[to] = posX[from];
+		previousPosX[to] = previousPosX[from];
+		velX[to] = velX[from];
+		boxOffsetX[to] = boxOffsetX[from];
+		boxY[to] = boxY[from];
+		boxWidth[to] = boxWidth[from];
+		boxHeight[to] = boxHeight[from];
+		minX[to] = minX[from];
+		minY[to] = minY[from];
+		maxX[to] = maxX[from];
+		maxY[to] = maxY[from];
+		sprite[to] = sprite[from];
+		spriteHeight[to] = spriteHeight[from];
+		age[to] = age[from];
+	}
+
+	private void ensureCapacity(int size) {
+		if (size > handle.length) {
+			int capacity = handle.length * 2;
+			handle = Arrays.copyOf(handle, capacity);
+			kind = Arrays.copyOf(kind, capacity);
+			posX = Arrays.copyOf(posX, capacity);
+			previousPosX = Arrays.copyOf(previousPosX, capacity);
+			velX = Arrays.copyOf(velX, capacity);
+			boxOffsetX = Arrays.copyOf(boxOffsetX, capacity);
+			boxY = Arrays.copyOf(boxY, capacity);
+			boxWidth = Arrays.copyOf(boxWidth, capacity);
+			boxHeight = Arrays.copyOf(boxHeight, capacity);
+			minX = Arrays.copyOf(minX, capacity);
+			minY = Arrays.copyOf(minY, capacity);
+			maxX = Arrays.copyOf(maxX, capacity);
+			maxY = Arrays.copyOf(maxY, capacity);
+			sprite = Arrays.copyOf(sprite, capacity);
+			spriteHeight = Arrays.copyOf(spriteHeight, capacity);
+			age = Arrays.copyOf(age, capacity);
+		}
+		if (usedSlots >= slotRow.length) {
+			int capacity = slotRow.length * 2;
+			slotRow = Arrays.copyOf(slotRow, capacity);
+			slotGeneration = Arrays.copyOf(slotGeneration, capacity);
+			freeSlots = Arrays.copyOf(freeSlots, capacity);
+		}
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public int getHandle(int row) {
+		return handle[row];
+	}
+
+	public int getKind(int row) {
+		return kind[row];
+	}
+
+	public double getPosX(int row) {
+		return posX[row];
+	}
+
+	public double getInterpolatedPosX(int row, double alpha) {
+		return previousPosX[row] + (posX[row] - previousPosX[row]) * alpha;
+	}
+
+	public double getMinX(int row) {
+		return minX[row];
+	}
+
+	public double getMinY(int row) {
+		return minY[row];
+	}
+
+	public double getMaxX(int row) {
+		return maxX[row];
+	}
+
+	public double getMaxY(int row) {
+		return maxY[row];
+	}
+
+	public int getSprite(int row) {
+		return sprite[row];
+	}
+
+	public int getSpriteHeight(int row) {
+		return spriteHeight[row];
+	}
+
+	public double getAge(int row) {
+		return age[row];
+	}
+}
@@ -0,0 +1,36 @@
+package flappy_bird.simulation;
+
+// Systems run over whole component arrays, no per entity objects or virtual calls
+final class EntitySystems {
+
+	private EntitySystems() {
+	}
+
+	static void move(EntityStore store, double deltaTime) {
+		int count = store.size();
+		double[] posX = store.posX;
+		double[] previousPosX = store.previousPosX;
+		double[] velX = store.velX;
+		double[] age = store.age;
+		for (int row = 0; row < count; row++) {
+			previousPosX[row] = posX[row];
+			posX[row] += velX[row] * deltaTime;
+			age[row] += deltaTime;
+		}
+	}
+
+	static void updateBounds(EntityStore store) {
+		int count = store.size();
+		for (int row = 0; row < count; row++) {
+			store.updateBounds(row);
+		}
+	}
+
+	static void setVelocityX(EntityStore store, double velocityX) {
+		int count = store.size();
+		double[] velX = store.velX;
+		for (int row = 0; row < count; row++) {
+			velX[row] = velocityX;
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package flappy_bird.simulation;
+
+import flappy_bird.Config;
+
+// Tunable gameplay constants of one world, so several worlds can run different rules
+public class GameRules {
+	public static final GameRules DEFAULT = new GameRules(Config.gravity, Config.jumpForce, Config.DEFAULT_SPEED,
+			Config.emptySpace, Config.pipesPerSecond);
+
+	private final double gravity;
+	private final double jumpForce;
+	private final double speed;
+	private final double emptySpace;
+	private final double pipesPerSecond;
+
+	public GameRules(double gravity, double jumpForce, double speed, double emptySpace, double pipesPerSecond) {
+		this.gravity = gravity;
+		this.jumpForce = jumpForce;
+		this.speed = speed;
+		this.emptySpace = emptySpace;
+		this.pipesPerSecond = pipesPerSecond;
+	}
+
+	public double getGravity() {
+		return gravity;
+	}
+
+	public double getJumpForce() {
+		return jumpForce;
+	}
+
+	public double getSpeed() {
+		return speed;
+	}
+
+	public double getEmptySpace() {
+		return emptySpace;
+	}
+
+	// Seconds between two pipe columns (same meaning as Config.pipesPerSecond)
+	public double getPipesPerSecond() {
+		return pipesPerSecond;
+	}
+}
@@ -0,0 +1,37 @@
+package flappy_bird.simulation;
+
+import flappy_bird.Config;
+import flappy_bird.collision.AABB;
+
+public class GroundState {
+	private double posX = 0;
+	private double previousPosX = 0;
+
+	private final AABB bounds;
+
+	GroundState() {
+		bounds = new AABB(0, Config.baseHeight - Config.groundHeight, Config.baseWidth, Config.groundHeight);
+	}
+
+	void reset() {
+		posX = 0;
+		previousPosX = 0;
+	}
+
+	void update(double deltaTime, double speed) {
+		previousPosX = posX;
+		posX += -speed * deltaTime;
+	}
+
+	public double getPosX() {
+		return posX;
+	}
+
+	public double getInterpolatedPosX(double alpha) {
+		return previousPosX + (posX - previousPosX) * alpha;
+	}
+
+	public AABB getBounds() {
+		return bounds;
+	}
+}
@@ -0,0 +1,378 @@
+package flappy_bird.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import flappy_bird.Config;
+import flappy_bird.collision.CollisionHandler;
+import flappy_bird.collision.CollisionSystem;
+import flappy_bird.diagnostics.CollisionPassEvent;
+import flappy_bird.diagnostics.PipeSpawnEvent;
+import flappy_bird.diagnostics.TickEvent;
+
+// Whole game state in plain Java: no nodes, no toolkit and no static state,
+// so any number of worlds can be stepped side by side (or much faster than real time)
+public class World {
+	private static final double FIRST_PIPE_DELAY = 2;
+	private static final int MIN_PIPE_HEIGHT = 50;
+	private static final int OFF_SCREEN_TOLERANCE = 50;
+	private static final double NO_FLAP = -1;
+	private static final double MAX_STEP_OFFSET = 0.999;
+
+	public static final int PIPE_WIDTH = 78;
+	public static final int SCORE_ZONE_WIDTH = Config.baseWidth / 10;
+
+	// Box ids given by the collision system: bird, ground, then entities in row order
+	private static final int GROUND_BOX = 1;
+	private static final int FIRST_ENTITY_BOX = 2;
+
+	private final GameRules rules;
+	private final Random random;
+
+	private final BirdState bird;
+	private final GroundState ground;
+	private final EntityStore entities = new EntityStore();
+
+	private final CollisionSystem collisionSystem = new CollisionSystem();
+	private final CollisionHandler collisionHandler = this::onCollision;
+	// Score zones are destroyed once the collision pass is over, rows must not move during it
+	private int[] scoredZones = new int[4];
+	private int scoredCount = 0;
+	// Only measured on request, the game has no use for it otherwise
+	private boolean timed = false;
+	private long collisionNanos = 0;
+
+	private final List<WorldListener> listeners = new ArrayList<WorldListener>();
+
+	private double speed;
+	private double time = 0;
+	private long tick = 0;
+	private int score = 0;
+
+	private boolean started = false;
+	private boolean ended = false;
+	private DeathCause deathCause = DeathCause.NONE;
+
+	// Flap requested for the next step, as a fraction of that step
+	private double pendingFlap = NO_FLAP;
+
+	// Pipe spawner, driven by simulation time
+	private boolean spawning = false;
+	private double spawnTimer;
+
+	public World(GameRules rules, double birdX, double birdY, long seed) {
+		this.rules = rules;
+		this.random = new Random(seed);
+		this.speed = rules.getSpeed();
+
+		bird = new BirdState(this, birdX, birdY);
+		ground = new GroundState();
+	}
+
+	// Back to the state of a new World with the given seed, keeping the listeners and
+	// the storage. Entities leave through onEntityRemoved, so views give back what they hold
+	public void reset(long seed) {
+		for (int row = entities.size() - 1; row >= 0; row--) {
+			int entity = entities.getHandle(row);
+			for (int i = 0; i < listeners.size(); i++) {
+				listeners.get(i).onEntityRemoved(entity);
+			}
+		}
+		entities.clear();
+		scoredCount = 0;
+
+		random.setSeed(seed);
+		speed = rules.getSpeed();
+		time = 0;
+		tick = 0;
+		score = 0;
+		started = false;
+		ended = false;
+		deathCause = DeathCause.NONE;
+		pendingFlap = NO_FLAP;
+		spawning = false;
+		spawnTimer = 0;
+		collisionNanos = 0;
+
+		bird.reset();
+		ground.reset();
+	}
+
+	public void addListener(WorldListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(WorldListener listener) {
+		listeners.remove(listener);
+	}
+
+	// Flaps right away, before the next step
+	public void flap() {
+		start();
+		if (bird.push()) {
+			notifyFlap();
+		}
+	}
+
+	// Flaps during the next step, stepOffset ([0, 1)) into it. Only the earliest
+	// request of a step counts
+	public void flap(double stepOffset) {
+		start();
+		double offset = Math.max(0, Math.min(stepOffset, MAX_STEP_OFFSET));
+		if (pendingFlap == NO_FLAP || offset < pendingFlap) {
+			pendingFlap = offset;
+		}
+	}
+
+	private void start() {
+		if (!started) {
+			started = true;
+			startSpawning(FIRST_PIPE_DELAY);
+		}
+	}
+
+	private void notifyFlap() {
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).onFlap();
+		}
+	}
+
+	public void step(double deltaTime) {
+		TickEvent event = new TickEvent();
+		event.begin();
+
+		tick++;
+		time += deltaTime;
+
+		if (pendingFlap != NO_FLAP) {
+			double flapAt = pendingFlap;
+			pendingFlap = NO_FLAP;
+			if (bird.update(deltaTime, flapAt)) {
+				notifyFlap();
+			}
+		} else {
+			bird.update(deltaTime);
+		}
+		ground.update(deltaTime, speed);
+		EntitySystems.move(entities, deltaTime);
+		EntitySystems.updateBounds(entities);
+		despawnOffScreen();
+		updateSpawner(deltaTime);
+
+		if (timed) {
+			long start = System.nanoTime();
+			checkColliders();
+			collisionNanos = System.nanoTime() - start;
+		} else {
+			checkColliders();
+		}
+
+		if (!ended && bird.isDead()) {
+			ended = true;
+			spawning = false;
+			speed = 0;
+			EntitySystems.setVelocityX(entities, 0);
+			for (int i = 0; i < listeners.size(); i++) {
+				listeners.get(i).onDeath();
+			}
+		}
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.tick = tick;
+			event.deltaTime = (long) (deltaTime * 1e9);
+			event.entities = entities.size();
+			event.score = score;
+			event.commit();
+		}
+	}
+
+	// Backwards, so the swap-remove only moves rows that were already checked
+	private void despawnOffScreen() {
+		for (int row = entities.size() - 1; row >= 0; row--) {
+			if (entities.getPosX(row) + PIPE_WIDTH < -OFF_SCREEN_TOLERANCE) {
+				int entity = entities.getHandle(row);
+				for (int i = 0; i < listeners.size(); i++) {
+					listeners.get(i).onEntityRemoved(entity);
+				}
+				entities.destroy(entity);
+			}
+		}
+	}
+
+	private void startSpawning(double delay) {
+		spawning = true;
+		spawnTimer = delay;
+	}
+
+	private void updateSpawner(double deltaTime) {
+		if (spawning) {
+			spawnTimer -= deltaTime;
+			if (spawnTimer <= 0) {
+				spawnTimer += rules.getPipesPerSecond();
+				spawnColumn();
+			}
+		}
+	}
+
+	private void spawnColumn() {
+		int totalHeight = Config.baseHeight - Config.groundHeight;
+		int emptySpace = (int) (totalHeight * rules.getEmptySpace());
+		int bottomHeight = (int) (MIN_PIPE_HEIGHT + random.nextDouble() * (Config.baseHeight - 400));
+		int x = (int) (Config.baseWidth * 1.2);
+
+		int topHeight = totalHeight - bottomHeight - emptySpace;
+
+		// The top pipe reaches far above the screen so it can not be jumped over
+		spawn(EntityStore.KIND_PIPE, x, -PIPE_WIDTH / 2, -1e6, PIPE_WIDTH, topHeight + 1e6,
+				EntityStore.SPRITE_PIPE_TOP, topHeight);
+		spawn(EntityStore.KIND_PIPE, x, -PIPE_WIDTH / 2, totalHeight - bottomHeight, PIPE_WIDTH, bottomHeight,
+				EntityStore.SPRITE_PIPE_BOTTOM, bottomHeight);
+		spawn(EntityStore.KIND_SCORE_ZONE, x, 0, 0, SCORE_ZONE_WIDTH, totalHeight, EntityStore.SPRITE_NONE, 0);
+
+		PipeSpawnEvent event = new PipeSpawnEvent();
+		if (event.shouldCommit()) {
+			event.tick = tick;
+			event.topHeight = topHeight;
+			event.bottomHeight = bottomHeight;
+			event.entities = entities.size();
+			event.commit();
+		}
+	}
+
+	private void spawn(int kind, double x, double offsetX, double y, double width, double height, int sprite,
+			int spriteHeight) {
+		int entity = entities.create(kind, x, -speed, offsetX, y, width, height, sprite, spriteHeight);
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).onEntitySpawned(entity);
+		}
+	}
+
+	private void checkColliders() {
+		CollisionPassEvent event = new CollisionPassEvent();
+		event.begin();
+
+		collisionSystem.clear();
+		collisionSystem.add(bird.getBounds(), true);
+		collisionSystem.add(ground.getBounds(), false);
+		int count = entities.size();
+		for (int row = 0; row < count; row++) {
+			collisionSystem.add(entities.getMinX(row), entities.getMinY(row), entities.getMaxX(row),
+					entities.getMaxY(row), false);
+		}
+
+		collisionSystem.detect(collisionHandler);
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.boxes = collisionSystem.getBoxCount();
+			event.candidatePairs = collisionSystem.getCandidatePairs();
+			event.bruteForcePairs = collisionSystem.getBruteForcePairs();
+			event.hits = collisionSystem.getHits();
+			event.commit();
+		}
+
+		for (int i = 0; i < scoredCount; i++) {
+			int zone = scoredZones[i];
+			for (int j = 0; j < listeners.size(); j++) {
+				listeners.get(j).onEntityRemoved(zone);
+			}
+			entities.destroy(zone);
+		}
+		scoredCount = 0;
+	}
+
+	// The bird is the only collidator, so it is always the first box
+	private void onCollision(int collidator, int other) {
+		if (bird.isGrounded()) {
+			return;
+		}
+		if (other >= FIRST_ENTITY_BOX && entities.getKind(other - FIRST_ENTITY_BOX) == EntityStore.KIND_SCORE_ZONE) {
+			score(entities.getHandle(other - FIRST_ENTITY_BOX));
+			return;
+		}
+		if (bird.kill()) {
+			deathCause = other == GROUND_BOX ? DeathCause.GROUND : DeathCause.PIPE;
+			hit();
+		}
+		if (other == GROUND_BOX) {
+			bird.land(ground.getBounds().getMinY());
+		}
+	}
+
+	private void score(int zone) {
+		if (scoredCount == scoredZones.length) {
+			scoredZones = Arrays.copyOf(scoredZones, scoredCount * 2);
+		}
+		scoredZones[scoredCount++] = zone;
+		score++;
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).onScore(score);
+		}
+	}
+
+	private void hit() {
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).onHit();
+		}
+	}
+
+	public GameRules getRules() {
+		return rules;
+	}
+
+	public BirdState getBird() {
+		return bird;
+	}
+
+	public GroundState getGround() {
+		return ground;
+	}
+
+	public EntityStore getEntities() {
+		return entities;
+	}
+
+	public void setTimed(boolean timed) {
+		this.timed = timed;
+	}
+
+	// Duration of the collision pass of the last step, when timed
+	public long getCollisionNanos() {
+		return collisionNanos;
+	}
+
+	public CollisionSystem getCollisionSystem() {
+		return collisionSystem;
+	}
+
+	public double getSpeed() {
+		return speed;
+	}
+
+	public double getTime() {
+		return time;
+	}
+
+	public long getTick() {
+		return tick;
+	}
+
+	public int getScore() {
+		return score;
+	}
+
+	public boolean isStarted() {
+		return started;
+	}
+
+	public boolean isEnded() {
+		return ended;
+	}
+
+	public DeathCause getDeathCause() {
+		return deathCause;
+	}
+}
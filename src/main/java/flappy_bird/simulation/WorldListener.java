@@ -0,0 +1,17 @@
+package flappy_bird.simulation;
+
+// Hooks for whatever presents a world (nodes, audio...), the simulation never needs them
+public interface WorldListener {
+	public default void onFlap() { }
+
+	public default void onScore(int score) { }
+
+	public default void onHit() { }
+
+	public default void onDeath() { }
+
+	// Entity handles of World.getEntities(), a column spawns two pipes and a score zone
+	public default void onEntitySpawned(int entity) { }
+
+	public default void onEntityRemoved(int entity) { }
+}
@@ -0,0 +1,64 @@
+package flappy_bird.stats;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import flappy_bird.simulation.DeathCause;
+
+// Outcome of one finished game, the unit the score log is made of
+public class GameResult {
+	private final String player;
+	private final int score;
+	private final long playMillis;
+	private final DeathCause deathCause;
+	private final long timestamp;
+
+	public GameResult(String player, int score, long playMillis, DeathCause deathCause, long timestamp) {
+		this.player = player;
+		this.score = score;
+		this.playMillis = playMillis;
+		this.deathCause = deathCause;
+		this.timestamp = timestamp;
+	}
+
+	void write(DataOutput out) throws IOException {
+		out.writeUTF(player);
+		out.writeInt(score);
+		out.writeLong(playMillis);
+		out.writeByte(deathCause.ordinal());
+		out.writeLong(timestamp);
+	}
+
+	static GameResult read(DataInput in) throws IOException {
+		String player = in.readUTF();
+		int score = in.readInt();
+		long playMillis = in.readLong();
+		int cause = in.readUnsignedByte();
+		long timestamp = in.readLong();
+		if (cause >= DeathCause.values().length) {
+			throw new IOException("Unknown death cause " + cause);
+		}
+		return new GameResult(player, score, playMillis, DeathCause.values()[cause], timestamp);
+	}
+
+	public String getPlayer() {
+		return player;
+	}
+
+	public int getScore() {
+		return score;
+	}
+
+	public long getPlayMillis() {
+		return playMillis;
+	}
+
+	public DeathCause getDeathCause() {
+		return deathCause;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+}
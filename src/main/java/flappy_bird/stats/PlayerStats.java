@@ -0,0 +1,110 @@
+package flappy_bird.stats;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Totals of every game of one player
+public class PlayerStats {
+	private final String player;
+	private int bestScore = 0;
+	private int games = 0;
+	private long totalScore = 0;
+	private long playMillis = 0;
+	private int pipeDeaths = 0;
+	private int groundDeaths = 0;
+	private long lastPlayed = 0;
+
+	public PlayerStats(String player) {
+		this.player = player;
+	}
+
+	void apply(GameResult result) {
+		bestScore = Math.max(bestScore, result.getScore());
+		games++;
+		totalScore += result.getScore();
+		playMillis += result.getPlayMillis();
+		switch (result.getDeathCause()) {
+		case PIPE:
+			pipeDeaths++;
+			break;
+		case GROUND:
+			groundDeaths++;
+			break;
+		default:
+			break;
+		}
+		lastPlayed = Math.max(lastPlayed, result.getTimestamp());
+	}
+
+	PlayerStats copy() {
+		PlayerStats copy = new PlayerStats(player);
+		copy.bestScore = bestScore;
+		copy.games = games;
+		copy.totalScore = totalScore;
+		copy.playMillis = playMillis;
+		copy.pipeDeaths = pipeDeaths;
+		copy.groundDeaths = groundDeaths;
+		copy.lastPlayed = lastPlayed;
+		return copy;
+	}
+
+	void write(DataOutput out) throws IOException {
+		out.writeUTF(player);
+		out.writeInt(bestScore);
+		out.writeInt(games);
+		out.writeLong(totalScore);
+		out.writeLong(playMillis);
+		out.writeInt(pipeDeaths);
+		out.writeInt(groundDeaths);
+		out.writeLong(lastPlayed);
+	}
+
+	static PlayerStats read(DataInput in) throws IOException {
+		PlayerStats stats = new PlayerStats(in.readUTF());
+		stats.bestScore = in.readInt();
+		stats.games = in.readInt();
+		stats.totalScore = in.readLong();
+		stats.playMillis = in.readLong();
+		stats.pipeDeaths = in.readInt();
+		stats.groundDeaths = in.readInt();
+		stats.lastPlayed = in.readLong();
+		return stats;
+	}
+
+	public String getPlayer() {
+		return player;
+	}
+
+	public int getBestScore() {
+		return bestScore;
+	}
+
+	public int getGames() {
+		return games;
+	}
+
+	public long getTotalScore() {
+		return totalScore;
+	}
+
+	public double getAverageScore() {
+		return games == 0 ? 0 : totalScore / (double) games;
+	}
+
+	public long getPlayMillis() {
+		return playMillis;
+	}
+
+	public int getPipeDeaths() {
+		return pipeDeaths;
+	}
+
+	public int getGroundDeaths() {
+		return groundDeaths;
+	}
+
+	public long getLastPlayed() {
+		return lastPlayed;
+	}
+}
@@ -0,0 +1,163 @@
+package flappy_bird.stats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Append-only log of checksummed records on a memory mapped file. Layout: magic,
+// version and generation, then records as [length][crc32][payload]. The length
+// is written last, so a record cut by a crash reads as the end of the log, and
+// the checksum catches whatever the page cache wrote out of order
+class RecordLog implements Closeable {
+	static final int HEADER_SIZE = 4 + 1 + 8;
+
+	private static final int MAGIC = 0x46425343; // "FBSC"
+	private static final byte VERSION = 1;
+	private static final int RECORD_HEADER_SIZE = 8;
+	private static final int MAX_RECORD_SIZE = 64 * 1024;
+	// The file grows in chunks, the mapping is replaced each time
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	interface RecordHandler {
+		void onRecord(byte[] payload) throws IOException;
+	}
+
+	private final FileChannel channel;
+	private final long generation;
+	private final CRC32 crc = new CRC32();
+
+	private MappedByteBuffer buffer;
+	private int end;
+
+	private RecordLog(FileChannel channel, long generation) {
+		this.channel = channel;
+		this.generation = generation;
+	}
+
+	// Replays the records from the given offset on, a torn tail is wiped
+	static RecordLog open(Path path, long from, RecordHandler handler) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			long size = channel.size();
+			if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+				throw new IOException("Not a score log: " + path);
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			if (buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+				throw new IOException("Not a score log: " + path);
+			}
+			if (from < HEADER_SIZE || from > size) {
+				throw new IOException("Offset " + from + " outside of " + path);
+			}
+
+			RecordLog log = new RecordLog(channel, buffer.getLong(5));
+			log.buffer = buffer;
+			log.end = (int) from;
+			log.replay(handler);
+			return log;
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	// Writes a whole new log. The header goes in last: a log without a valid
+	// header is never picked up, so a crash halfway leaves nothing usable behind
+	static RecordLog create(Path path, long generation, List<byte[]> records) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			RecordLog log = new RecordLog(channel, generation);
+			log.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHUNK_SIZE);
+			log.end = HEADER_SIZE;
+			for (int i = 0; i < records.size(); i++) {
+				log.append(records.get(i));
+			}
+			log.buffer.force();
+
+			log.buffer.putInt(0, MAGIC);
+			log.buffer.put(4, VERSION);
+			log.buffer.putLong(5, generation);
+			log.buffer.force();
+			return log;
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private void replay(RecordHandler handler) throws IOException {
+		while (end + RECORD_HEADER_SIZE <= buffer.capacity()) {
+			int length = buffer.getInt(end);
+			if (length <= 0 || length > MAX_RECORD_SIZE || end + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+				break;
+			}
+			byte[] payload = new byte[length];
+			buffer.position(end + RECORD_HEADER_SIZE);
+			buffer.get(payload);
+			if (checksum(payload) != buffer.getInt(end + 4)) {
+				break;
+			}
+			handler.onRecord(payload);
+			end += RECORD_HEADER_SIZE + length;
+		}
+
+		// Zero whatever follows, so a new record never lines up with old garbage
+		for (int i = end; i < buffer.capacity(); i++) {
+			if (buffer.get(i) != 0) {
+				buffer.put(i, (byte) 0);
+			}
+		}
+	}
+
+	// Lands in the page cache, safe from a crash of the game but not of the
+	// machine until force()
+	void append(byte[] payload) throws IOException {
+		if (payload.length == 0 || payload.length > MAX_RECORD_SIZE) {
+			throw new IOException("Record size " + payload.length + " out of bounds");
+		}
+		int size = RECORD_HEADER_SIZE + payload.length;
+		if (end + size > buffer.capacity()) {
+			int capacity = buffer.capacity();
+			while (end + size > capacity) {
+				capacity += CHUNK_SIZE;
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+		}
+
+		buffer.position(end + RECORD_HEADER_SIZE);
+		buffer.put(payload);
+		buffer.putInt(end + 4, checksum(payload));
+		buffer.putInt(end, payload.length);
+		end += size;
+	}
+
+	private int checksum(byte[] payload) {
+		crc.reset();
+		crc.update(payload, 0, payload.length);
+		return (int) crc.getValue();
+	}
+
+	void force() {
+		buffer.force();
+	}
+
+	long getGeneration() {
+		return generation;
+	}
+
+	long getEnd() {
+		return end;
+	}
+
+	@Override
+	public void close() throws IOException {
+		buffer.force();
+		channel.close();
+	}
+}
@@ -0,0 +1,385 @@
+package flappy_bird.stats;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import flappy_bird.Config;
+
+// High scores and stats of every player, kept across runs. Games are appended to
+// a RecordLog by a background thread; every few games the totals are saved to an
+// index along with the log offset they cover, so startup reads the index and only
+// replays the games after it. A log that grows too big is compacted into a new
+// generation holding one record per player.
+// Reads come from a copy owned by the FX thread and never wait for the disk
+public class ScoreStore {
+	private static final Logger LOGGER = Logger.getLogger(ScoreStore.class.getName());
+
+	private static final String INDEX_FILE = "scores.idx";
+	private static final String LOG_PREFIX = "scores-";
+	private static final String LOG_SUFFIX = ".log";
+	private static final int INDEX_MAGIC = 0x46425349; // "FBSI"
+	private static final byte INDEX_VERSION = 1;
+
+	private static final byte TYPE_GAME = 1;
+	private static final byte TYPE_PLAYER = 2;
+
+	// Games appended between index writes, those are replayed at startup
+	private static final int INDEX_INTERVAL = 16;
+	private static final long COMPACT_SIZE = 256 * 1024;
+	private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+	private static ScoreStore instance = null;
+
+	private final Path dir;
+
+	// FX thread
+	private final Map<String, PlayerStats> stats = new HashMap<String, PlayerStats>();
+	private boolean closed = false;
+
+	// Writer thread, null log when the store could not be opened
+	private final ThreadPoolExecutor writer;
+	private final Map<String, PlayerStats> persisted = new HashMap<String, PlayerStats>();
+	private RecordLog log;
+	private int gamesSinceIndex = 0;
+	private long compactSize = COMPACT_SIZE;
+
+	// Package-private for the tests, the game uses getInstance()
+	ScoreStore(Path dir) {
+		this.dir = dir;
+		try {
+			open();
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Scores in " + dir + " not available, they will not be saved", e);
+			persisted.clear();
+			log = null;
+		}
+		for (PlayerStats playerStats : persisted.values()) {
+			stats.put(playerStats.getPlayer(), playerStats.copy());
+		}
+
+		writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+			Thread thread = new Thread(runnable, "score-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	// Synchronized, as the store is opened by openAsync() and then used from the FX thread
+	public static synchronized ScoreStore getInstance() {
+		if (instance == null) {
+			instance = new ScoreStore(Paths.get(Config.statsDir));
+		}
+		return instance;
+	}
+
+	// Reads the index and replays the log on a thread of its own
+	public static CompletableFuture<ScoreStore> openAsync() {
+		CompletableFuture<ScoreStore> opened = new CompletableFuture<ScoreStore>();
+		Thread thread = new Thread(() -> {
+			try {
+				opened.complete(getInstance());
+			} catch (RuntimeException e) {
+				opened.completeExceptionally(e);
+			}
+		}, "score-store-open");
+		thread.setDaemon(true);
+		thread.start();
+		return opened;
+	}
+
+	public int getBestScore(String player) {
+		PlayerStats playerStats = stats.get(player);
+		return playerStats == null ? 0 : playerStats.getBestScore();
+	}
+
+	// Copy, null when the player has no games yet
+	public PlayerStats getStats(String player) {
+		PlayerStats playerStats = stats.get(player);
+		return playerStats == null ? null : playerStats.copy();
+	}
+
+	// Counted right away, written in the background
+	public void recordGame(GameResult result) {
+		if (closed) {
+			return;
+		}
+		stats.computeIfAbsent(result.getPlayer(), PlayerStats::new).apply(result);
+		writer.execute(() -> append(result));
+	}
+
+	// Saves the index and waits a little for the pending writes
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		writer.execute(() -> {
+			if (log == null) {
+				return;
+			}
+			try {
+				writeIndex();
+				log.close();
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Could not close the score log", e);
+			}
+			log = null;
+		});
+		writer.shutdown();
+		try {
+			writer.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// Waits for the games queued so far to be written, for the tests
+	void awaitWrites() throws InterruptedException, ExecutionException {
+		writer.submit(() -> {
+		}).get();
+	}
+
+	private void open() throws IOException {
+		Files.createDirectories(dir);
+
+		long[] index = readIndex();
+		if (index != null) {
+			try {
+				log = RecordLog.open(logPath(index[0]), index[1], this::replay);
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Score index does not match the log, replaying it", e);
+				log = null;
+			}
+		}
+		if (log == null) {
+			persisted.clear();
+			log = openLatestLog();
+		}
+		if (log == null) {
+			persisted.clear();
+			log = RecordLog.create(logPath(0), 0, new ArrayList<byte[]>());
+		}
+		compactSize = Math.max(COMPACT_SIZE, log.getEnd() * 2);
+		deleteStaleLogs();
+	}
+
+	// Without a usable index: the newest log with a valid header, replayed whole
+	private RecordLog openLatestLog() throws IOException {
+		List<Long> generations = new ArrayList<Long>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, LOG_PREFIX + "*" + LOG_SUFFIX)) {
+			for (Path file : files) {
+				long generation = parseGeneration(file);
+				if (generation >= 0) {
+					generations.add(generation);
+				}
+			}
+		}
+		generations.sort(null);
+
+		for (int i = generations.size() - 1; i >= 0; i--) {
+			try {
+				return RecordLog.open(logPath(generations.get(i)), RecordLog.HEADER_SIZE, this::replay);
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Skipping score log " + logPath(generations.get(i)), e);
+				persisted.clear();
+			}
+		}
+		return null;
+	}
+
+	private void replay(byte[] payload) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+		byte type = in.readByte();
+		if (type == TYPE_GAME) {
+			GameResult result = GameResult.read(in);
+			persisted.computeIfAbsent(result.getPlayer(), PlayerStats::new).apply(result);
+		} else if (type == TYPE_PLAYER) {
+			PlayerStats playerStats = PlayerStats.read(in);
+			persisted.put(playerStats.getPlayer(), playerStats);
+		} else {
+			throw new IOException("Unknown score record " + type);
+		}
+	}
+
+	// Writer thread from here on
+
+	private void append(GameResult result) {
+		if (log == null) {
+			return;
+		}
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeByte(TYPE_GAME);
+			result.write(out);
+			log.append(bytes.toByteArray());
+			persisted.computeIfAbsent(result.getPlayer(), PlayerStats::new).apply(result);
+			// Group commit: one flush to disk for a burst of games. Writing the
+			// index flushes too, whatever is queued
+			if (writer.getQueue().isEmpty()) {
+				log.force();
+			}
+
+			if (log.getEnd() > compactSize) {
+				compact();
+			} else if (++gamesSinceIndex >= INDEX_INTERVAL) {
+				writeIndex();
+			}
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Could not save the game of " + result.getPlayer(), e);
+		}
+	}
+
+	// The new generation is complete before the index points at it, the old one
+	// is only deleted after that
+	private void compact() throws IOException {
+		List<byte[]> records = new ArrayList<byte[]>(persisted.size());
+		for (PlayerStats playerStats : persisted.values()) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeByte(TYPE_PLAYER);
+			playerStats.write(out);
+			records.add(bytes.toByteArray());
+		}
+
+		long generation = log.getGeneration() + 1;
+		RecordLog compacted = RecordLog.create(logPath(generation), generation, records);
+		log.close();
+		log = compacted;
+		compactSize = Math.max(COMPACT_SIZE, log.getEnd() * 2);
+
+		writeIndex();
+		deleteStaleLogs();
+	}
+
+	// Layout: magic, version, log generation, log offset, player count, players, crc32.
+	// Written aside and moved over the old one, so it is either the old or the new.
+	// The log is flushed first: the index must never cover records the disk lacks
+	private void writeIndex() throws IOException {
+		log.force();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(INDEX_MAGIC);
+		out.writeByte(INDEX_VERSION);
+		out.writeLong(log.getGeneration());
+		out.writeLong(log.getEnd());
+		out.writeInt(persisted.size());
+		for (PlayerStats playerStats : persisted.values()) {
+			playerStats.write(out);
+		}
+		CRC32 crc = new CRC32();
+		crc.update(bytes.toByteArray());
+		out.writeInt((int) crc.getValue());
+
+		Path temp = dir.resolve(INDEX_FILE + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			// On disk before the move, or a crash could leave an empty index in place
+			channel.force(true);
+		}
+		Files.move(temp, dir.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		gamesSinceIndex = 0;
+	}
+
+	// Fills the persisted totals, returns the generation and offset it covers
+	private long[] readIndex() {
+		byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(dir.resolve(INDEX_FILE));
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Could not read the score index", e);
+			return null;
+		}
+
+		try {
+			if (bytes.length < 4) {
+				throw new IOException("Truncated");
+			}
+			CRC32 crc = new CRC32();
+			crc.update(bytes, 0, bytes.length - 4);
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+			in.skipBytes(bytes.length - 4);
+			if (in.readInt() != (int) crc.getValue()) {
+				throw new IOException("Bad checksum");
+			}
+
+			in = new DataInputStream(new ByteArrayInputStream(bytes));
+			if (in.readInt() != INDEX_MAGIC || in.readByte() != INDEX_VERSION) {
+				throw new IOException("Unknown format");
+			}
+			long generation = in.readLong();
+			long offset = in.readLong();
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				PlayerStats playerStats = PlayerStats.read(in);
+				persisted.put(playerStats.getPlayer(), playerStats);
+			}
+			return new long[] { generation, offset };
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Ignoring the score index", e);
+			persisted.clear();
+			return null;
+		}
+	}
+
+	// Best effort, a file still mapped somewhere is left for the next start
+	private void deleteStaleLogs() {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, LOG_PREFIX + "*" + LOG_SUFFIX)) {
+			for (Path file : files) {
+				if (parseGeneration(file) != log.getGeneration()) {
+					try {
+						Files.deleteIfExists(file);
+					} catch (IOException e) {
+						LOGGER.log(Level.FINE, "Could not delete " + file, e);
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.log(Level.FINE, "Could not list " + dir, e);
+		}
+	}
+
+	private Path logPath(long generation) {
+		return dir.resolve(LOG_PREFIX + generation + LOG_SUFFIX);
+	}
+
+	private static long parseGeneration(Path file) {
+		String name = file.getFileName().toString();
+		try {
+			return Long.parseLong(name.substring(LOG_PREFIX.length(), name.length() - LOG_SUFFIX.length()));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package flappy_bird.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// List of assets to decode ahead of time through the AssetRegistry
+public class AssetManifest {
+	// Enough to show the menu, decoded before the first frame
+	public static final AssetManifest MENU = new AssetManifest()
+			.image("ico/logo.png", 0, 0)
+			.image("img/flappy-bird.png", 51, 36)
+			.image("img/flappy-bird-up.png", 51, 36)
+			.image("img/flappy-bird-down.png", 51, 36)
+			.image("img/background.png", 136, 152)
+			.image("img/ground.png", 24, 88);
+
+	// Same paths and sizes the objects ask for
+	public static final AssetManifest GAME = new AssetManifest()
+			.image("img/flappy-bird.png", 51, 36)
+			.image("img/flappy-bird-up.png", 51, 36)
+			.image("img/flappy-bird-down.png", 51, 36)
+			.image("img/background.png", 136, 152)
+			.image("img/ground.png", 24, 88)
+			.image("img/pipe1a.png", 78, 42)
+			.image("img/pipe1b.png", 78, 3)
+			.image("img/pipe2a.png", 78, 42)
+			.image("img/pipe2b.png", 78, 3)
+			.image("img/portal-radio.png", 50, 43)
+			.font("font/flappy-bird-numbers.ttf", 50)
+			.media("snd/looping-radio-mix.mp3")
+			.soundEffects();
+
+	private final List<Runnable> loaders = new ArrayList<Runnable>();
+
+	public AssetManifest image(String path, int width, int height) {
+		loaders.add(() -> AssetRegistry.getImage(path, width, height));
+		return this;
+	}
+
+	public AssetManifest font(String path, double size) {
+		loaders.add(() -> AssetRegistry.getFont(path, size));
+		return this;
+	}
+
+	public AssetManifest media(String path) {
+		loaders.add(() -> AssetRegistry.getMedia(path));
+		return this;
+	}
+
+	public AssetManifest soundEffects() {
+		for (SoundEffect effect : SoundEffect.values()) {
+			loaders.add(effect::load);
+		}
+		return this;
+	}
+
+	void load() {
+		for (Runnable loader : loaders) {
+			loader.run();
+		}
+	}
+
+	// One task per asset, so the big ones do not hold the small ones back
+	CompletableFuture<Void> loadAsync(Executor executor) {
+		CompletableFuture<?>[] tasks = new CompletableFuture<?>[loaders.size()];
+		for (int i = 0; i < tasks.length; i++) {
+			tasks[i] = CompletableFuture.runAsync(loaders.get(i), executor);
+		}
+		return CompletableFuture.allOf(tasks);
+	}
+}
@@ -0,0 +1,197 @@
+package flappy_bird.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.media.Media;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+// Decodes every image and font once per (path, size) and shares the instance.
+// Images handed out here must be treated as read only. Safe from any thread: an
+// asset still decoding on a loader makes other callers wait for that same decode
+public final class AssetRegistry {
+	private static final Map<String, Asset> assets = new ConcurrentHashMap<String, Asset>();
+
+	// Decoding is mostly I/O and inflate, a couple of threads help even on one core
+	private static final int LOADER_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+	private static ThreadPoolExecutor loaders = null;
+
+	private AssetRegistry() {
+	}
+
+	// Natural size
+	public static Image getImage(String path) {
+		return getImage(path, 0, 0);
+	}
+
+	public static Image getImage(String path, int width, int height) {
+		String key = path + "@" + width + "x" + height;
+		return (Image) assets.computeIfAbsent(key, k -> decodeImage(k, path, width, height)).value;
+	}
+
+	public static Font getFont(String path, double size) {
+		String key = path + "@" + size;
+		return (Font) assets.computeIfAbsent(key, k -> loadFont(k, path, size)).value;
+	}
+
+	// Image drawn by code, painted once and then shared like a decoded one. FX thread only
+	public static Image getRasterized(String name, int width, int height, Consumer<GraphicsContext> painter) {
+		String key = "raster:" + name + "@" + width + "x" + height;
+		return (Image) assets.computeIfAbsent(key, k -> rasterize(k, width, height, painter)).value;
+	}
+
+	public static Media getMedia(String path) {
+		return (Media) assets.computeIfAbsent(path, k -> loadMedia(k, path)).value;
+	}
+
+	public static void preload(AssetManifest manifest) {
+		manifest.load();
+	}
+
+	// Decodes on background threads, the future completes once every asset is in
+	public static CompletableFuture<Void> preloadAsync(AssetManifest manifest) {
+		return manifest.loadAsync(getLoaders());
+	}
+
+	private static synchronized ThreadPoolExecutor getLoaders() {
+		if (loaders == null) {
+			AtomicInteger count = new AtomicInteger();
+			loaders = new ThreadPoolExecutor(LOADER_THREADS, LOADER_THREADS, 5, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(), runnable -> {
+						Thread thread = new Thread(runnable, "asset-loader-" + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					});
+			// Nothing is left running once startup is over
+			loaders.allowCoreThreadTimeOut(true);
+		}
+		return loaders;
+	}
+
+	private static Asset decodeImage(String key, String path, int width, int height) {
+		long start = System.nanoTime();
+		Image image;
+		try (InputStream stream = open(path)) {
+			image = new Image(stream, width, height, false, false);
+		} catch (IOException e) {
+			throw new RuntimeException("Could not read " + path, e);
+		}
+		long bytes = (long) image.getWidth() * (long) image.getHeight() * 4;
+		return new Asset(key, image, System.nanoTime() - start, bytes);
+	}
+
+	private static Asset loadFont(String key, String path, double size) {
+		long start = System.nanoTime();
+		Font font;
+		long bytes;
+		try (InputStream stream = open(path)) {
+			// Font.loadFont(InputStream) reads the whole stream, so count it first
+			byte[] data = readAll(stream);
+			bytes = data.length;
+			font = Font.loadFont(new ByteArrayInputStream(data), size);
+		} catch (IOException e) {
+			throw new RuntimeException("Could not read " + path, e);
+		}
+		if (font == null) {
+			throw new RuntimeException("Could not load font " + path);
+		}
+		return new Asset(key, font, System.nanoTime() - start, bytes);
+	}
+
+	private static Asset rasterize(String key, int width, int height, Consumer<GraphicsContext> painter) {
+		long start = System.nanoTime();
+		Canvas canvas = new Canvas(width, height);
+		painter.accept(canvas.getGraphicsContext2D());
+		SnapshotParameters parameters = new SnapshotParameters();
+		parameters.setFill(Color.TRANSPARENT);
+		Image image = canvas.snapshot(parameters, null);
+		return new Asset(key, image, System.nanoTime() - start, (long) width * height * 4);
+	}
+
+	// Media only parses the container here, the player decodes while it plays
+	private static Asset loadMedia(String key, String path) {
+		long start = System.nanoTime();
+		URL url = ClassLoader.getSystemResource(path);
+		if (url == null) {
+			throw new RuntimeException("Missing resource " + path);
+		}
+		return new Asset(key, new Media(url.toString()), System.nanoTime() - start, 0);
+	}
+
+	private static InputStream open(String path) {
+		InputStream stream = ClassLoader.getSystemResourceAsStream(path);
+		if (stream == null) {
+			throw new RuntimeException("Missing resource " + path);
+		}
+		return stream;
+	}
+
+	private static byte[] readAll(InputStream stream) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = stream.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+	public static long getRetainedBytes() {
+		long total = 0;
+		for (Asset asset : assets.values()) {
+			total += asset.retainedBytes;
+		}
+		return total;
+	}
+
+	public static String report() {
+		List<Asset> sorted = new ArrayList<Asset>(assets.values());
+		Collections.sort(sorted, (a, b) -> a.key.compareTo(b.key));
+
+		StringBuilder sb = new StringBuilder();
+		long totalNanos = 0;
+		long totalBytes = 0;
+		for (Asset asset : sorted) {
+			sb.append(String.format("%-45s decode %7.2f ms %9d bytes%n", asset.key, asset.decodeNanos / 1e6,
+					asset.retainedBytes));
+			totalNanos += asset.decodeNanos;
+			totalBytes += asset.retainedBytes;
+		}
+		sb.append(String.format("%d assets, decode %.2f ms, %d bytes retained", sorted.size(), totalNanos / 1e6,
+				totalBytes));
+		return sb.toString();
+	}
+
+	private static final class Asset {
+		private final String key;
+		private final Object value;
+		private final long decodeNanos;
+		private final long retainedBytes;
+
+		private Asset(String key, Object value, long decodeNanos, long retainedBytes) {
+			this.key = key;
+			this.value = value;
+			this.decodeNanos = decodeNanos;
+			this.retainedBytes = retainedBytes;
+		}
+	}
+}
@@ -1,27 +1,47 @@
 package flappy_bird.utils;
 
-import javafx.scene.media.AudioClip;
-
 public final class AudioResources {
+	// Overlapping voices allowed for all the effects together
+	static final int MAX_VOICES = 6;
+
+	public static SoundEffect getDieAudio() {
+		return SoundEffect.DIE;
+	}
 
-    private static AudioClip create(String name) {
-    	return new AudioClip(ClassLoader.getSystemResource(name).toString());
-    }
+	public static SoundEffect getHitAudio() {
+		return SoundEffect.HIT;
+	}
 
-	public static AudioClip getDieAudio() {
-		return create("sfx/die.mp3");
+	public static SoundEffect getWingAudio() {
+		return SoundEffect.WING;
 	}
 
-	public static AudioClip getHitAudio() {
-		return create("sfx/hit.mp3");
+	public static SoundEffect getPointAudio() {
+		return SoundEffect.POINT;
 	}
 
-	public static AudioClip getWingAudio() {
-		return create("sfx/wing.mp3");
+	static int activeVoices(long now) {
+		int active = 0;
+		for (SoundEffect effect : SoundEffect.values()) {
+			active += effect.activeVoices(now);
+		}
+		return active;
 	}
 
-	public static AudioClip getPointAudio() {
-		return create("sfx/point.mp3");
+	// Silences the lowest priority effect that is sounding, if below the given priority
+	static boolean makeRoom(int priority, long now) {
+		SoundEffect victim = null;
+		for (SoundEffect effect : SoundEffect.values()) {
+			if (effect.getPriority() < priority && effect.activeVoices(now) > 0
+					&& (victim == null || effect.getPriority() < victim.getPriority())) {
+				victim = effect;
+			}
+		}
+		if (victim == null) {
+			return false;
+		}
+		victim.stop();
+		return true;
 	}
 	
 }
@@ -1,5 +1,9 @@
 package flappy_bird.utils;
 
 public abstract class GameObject {
+	// Set by GameObjectBuilder.remove() until the removal is flushed, then cleared so the
+	// object can be added again
+	boolean removed = false;
+
 	public abstract void destroy();
 }
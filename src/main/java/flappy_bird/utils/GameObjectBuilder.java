@@ -1,14 +1,22 @@
 package flappy_bird.utils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
-import flappy_bird.interfaces.Collidator;
-import flappy_bird.interfaces.Collideable;
+import flappy_bird.Config;
+import flappy_bird.interfaces.Drawable;
+import flappy_bird.interfaces.Interpolable;
 import flappy_bird.interfaces.Renderable;
 import flappy_bird.interfaces.Updatable;
 import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 
+// add() and remove() only queue the change; flush() applies all of them at once,
+// so the lists handed out can be iterated directly while objects come and go
 public class GameObjectBuilder {
 	private static GameObjectBuilder instance = null;
 
@@ -17,21 +25,41 @@ public class GameObjectBuilder {
 	private List<GameObject> allGameObjects = new ArrayList<GameObject>();
 	private List<Updatable> updatables = new ArrayList<Updatable>();
 	private List<Renderable> renderables = new ArrayList<Renderable>();
-	private List<Collideable> collideables = new ArrayList<Collideable>();
-	private List<Collidator> collidators = new ArrayList<Collidator>();
+	private List<Interpolable> interpolables = new ArrayList<Interpolable>();
+	// Back to front, like the view order of their nodes
+	private List<Drawable> drawables = new ArrayList<Drawable>();
+	private static final Comparator<Drawable> BACK_TO_FRONT = (a, b) -> Double
+			.compare(b.getRender().getViewOrder(), a.getRender().getViewOrder());
+
+	private final List<Updatable> updatablesView = Collections.unmodifiableList(updatables);
+	private final List<Interpolable> interpolablesView = Collections.unmodifiableList(interpolables);
+
+	// Command buffer
+	private List<GameObject> pendingAdds = new ArrayList<GameObject>();
+	private List<GameObject> pendingRemoves = new ArrayList<GameObject>();
+	private List<Node> nodesToAdd = new ArrayList<Node>();
+	private List<Node> nodesToRemove = new ArrayList<Node>();
 
 	private Group objectsGroup = new Group();
-	private Group collidersGroup = new Group();
+	// Only in canvas render mode: Drawables are painted here instead of adding their node
+	private final Canvas canvas;
 
 	private GameObjectBuilder() {
-
+		if (Config.canvasRenderer) {
+			canvas = new Canvas(Config.baseWidth, Config.baseHeight);
+			canvas.setViewOrder(10);
+		} else {
+			canvas = null;
+		}
 	}
 
 	public void setRootNode(Group rootNode) {
 		if (this.rootNode == null) {
 			this.rootNode = rootNode;
 			rootNode.getChildren().add(objectsGroup);
-			//rootNode.getChildren().add(collidersGroup);
+			if (canvas != null) {
+				objectsGroup.getChildren().add(canvas);
+			}
 		} else {
 			throw new RuntimeException("Root node already configured");
 		}
@@ -48,81 +76,155 @@ public class GameObjectBuilder {
 		checkRootNode();
 
 		for (GameObject gameObject : gameObjects) {
+			pendingAdds.add(gameObject);
+		}
+	}
+
+	public void remove(GameObject... gameObjects) {
+		for (GameObject gameObject : gameObjects) {
+			if (!gameObject.removed) {
+				gameObject.removed = true;
+				pendingRemoves.add(gameObject);
+			}
+		}
+	}
+
+	// Applies the queued changes, called between simulation steps
+	public void flush() {
+		if (pendingAdds.isEmpty() && pendingRemoves.isEmpty()) {
+			return;
+		}
+
+		boolean drawablesAdded = false;
+		for (int i = 0; i < pendingAdds.size(); i++) {
+			GameObject gameObject = pendingAdds.get(i);
 			allGameObjects.add(gameObject);
 
-			if (Updatable.class.isAssignableFrom(gameObject.getClass())) {
+			if (gameObject instanceof Updatable) {
 				updatables.add((Updatable) gameObject);
 			}
 
-			if (Renderable.class.isAssignableFrom(gameObject.getClass())) {
+			if (gameObject instanceof Renderable) {
 				Renderable renderableGameObject = (Renderable) gameObject;
 				renderables.add(renderableGameObject);
 
-				objectsGroup.getChildren().add(renderableGameObject.getRender());
+				if (canvas != null && gameObject instanceof Drawable) {
+					drawables.add((Drawable) gameObject);
+					drawablesAdded = true;
+				} else {
+					nodesToAdd.add(renderableGameObject.getRender());
+				}
 			}
 
-			if (Collidator.class.isAssignableFrom(gameObject.getClass())) {
-				Collidator collidatorGameObject = (Collidator) gameObject;
-				collidators.add(collidatorGameObject);
-
-				collidersGroup.getChildren().add(collidatorGameObject.getCollider());
-			} else if (Collideable.class.isAssignableFrom(gameObject.getClass())) {
-				Collideable collideableGameObject = (Collideable) gameObject;
-				collideables.add(collideableGameObject);
-
-				collidersGroup.getChildren().add(collideableGameObject.getCollider());
+			if (gameObject instanceof Interpolable) {
+				interpolables.add((Interpolable) gameObject);
 			}
 		}
-	}
-
-	public void remove(GameObject... gameObjects) {
-		//checkRootNode();
-
-		for (GameObject gameObject : gameObjects) {
-			allGameObjects.remove(gameObject);
+		pendingAdds.clear();
+		if (drawablesAdded) {
+			// Stable, so equal view orders keep the insertion order
+			drawables.sort(BACK_TO_FRONT);
+		}
 
-			if (Updatable.class.isAssignableFrom(gameObject.getClass())) {
-				updatables.remove((Updatable) gameObject);
+		if (!pendingRemoves.isEmpty()) {
+			// One pass per list whatever the number of removed objects
+			removeMarked(allGameObjects);
+			removeMarked(updatables);
+			removeMarked(interpolables);
+			removeMarked(drawables);
+			for (int i = 0; i < renderables.size(); i++) {
+				if (((GameObject) renderables.get(i)).removed) {
+					nodesToRemove.add(renderables.get(i).getRender());
+				}
 			}
+			removeMarked(renderables);
 
-			if (Renderable.class.isAssignableFrom(gameObject.getClass())) {
-				Renderable renderableGameObject = (Renderable) gameObject;
-				renderables.remove(renderableGameObject);
-
-				objectsGroup.getChildren().remove(renderableGameObject.getRender());
+			for (int i = 0; i < pendingRemoves.size(); i++) {
+				GameObject gameObject = pendingRemoves.get(i);
+				gameObject.destroy();
+				gameObject.removed = false;
 			}
+			pendingRemoves.clear();
+		}
 
-			if (Collidator.class.isAssignableFrom(gameObject.getClass())) {
-				Collidator collidatorGameObject = (Collidator) gameObject;
-				collidators.remove(collidatorGameObject);
-
-				collidersGroup.getChildren().remove(collidatorGameObject.getCollider());
-			} else if (Collideable.class.isAssignableFrom(gameObject.getClass())) {
-				Collideable collideableGameObject = (Collideable) gameObject;
-				collideables.remove(collideableGameObject);
+		// A single scene graph change for each direction
+		if (!nodesToAdd.isEmpty()) {
+			objectsGroup.getChildren().addAll(nodesToAdd);
+			nodesToAdd.clear();
+		}
+		if (!nodesToRemove.isEmpty()) {
+			objectsGroup.getChildren().removeAll(nodesToRemove);
+			nodesToRemove.clear();
+		}
+	}
 
-				collidersGroup.getChildren().remove(collideableGameObject.getCollider());
+	// Canvas render mode only, after every interpolation of the frame
+	public void draw() {
+		if (canvas == null) {
+			return;
+		}
+		GraphicsContext gc = canvas.getGraphicsContext2D();
+		gc.clearRect(0, 0, Config.baseWidth, Config.baseHeight);
+		gc.setImageSmoothing(QualityGovernor.getInstance().getTier().hasSmoothImages());
+		for (int i = 0; i < drawables.size(); i++) {
+			Drawable drawable = drawables.get(i);
+			if (drawable.getRender().isVisible()) {
+				drawable.draw(gc);
 			}
+		}
+	}
 
-			gameObject.destroy();
+	private static <T> void removeMarked(List<T> list) {
+		int kept = 0;
+		for (int i = 0; i < list.size(); i++) {
+			T item = list.get(i);
+			if (!((GameObject) item).removed) {
+				list.set(kept++, item);
+			}
+		}
+		while (list.size() > kept) {
+			list.remove(list.size() - 1);
 		}
 	}
 
+	// Live lists: changes only happen in flush()
 	public List<Updatable> getUpdatables() {
-		return new ArrayList<Updatable>(updatables);
+		return updatablesView;
 	}
 
-	public List<Collideable> getCollideables() {
-		return new ArrayList<Collideable>(collideables);
+	public List<Interpolable> getInterpolables() {
+		return interpolablesView;
 	}
 
-	public List<Collidator> getCollidators() {
-		return new ArrayList<Collidator>(collidators);
+	public int getObjectCount() {
+		return allGameObjects.size();
 	}
 
 	public void removeAll() {
-		GameObject[] arrayGameObjects = allGameObjects.toArray(new GameObject[allGameObjects.size()]);
-		remove(arrayGameObjects);
+		for (int i = 0; i < pendingAdds.size(); i++) {
+			if (!pendingAdds.get(i).removed) {
+				pendingAdds.get(i).destroy();
+			}
+		}
+		for (int i = 0; i < allGameObjects.size(); i++) {
+			GameObject gameObject = allGameObjects.get(i);
+			if (!gameObject.removed) {
+				gameObject.destroy();
+			}
+		}
+		for (int i = 0; i < pendingRemoves.size(); i++) {
+			pendingRemoves.get(i).destroy();
+			pendingRemoves.get(i).removed = false;
+		}
+
+		pendingAdds.clear();
+		pendingRemoves.clear();
+		allGameObjects.clear();
+		updatables.clear();
+		renderables.clear();
+		interpolables.clear();
+		drawables.clear();
+		objectsGroup.getChildren().clear();
 		this.rootNode = null;
 	}
 
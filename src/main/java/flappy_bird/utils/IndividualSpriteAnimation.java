@@ -24,6 +24,12 @@ public class IndividualSpriteAnimation extends Transition {
 		setInterpolator(Interpolator.LINEAR);
 	}
 	
+	// Same number of frames, e.g. another skin of the same sprite
+	public void setImages(Image... images) {
+		System.arraycopy(images, 0, this.images, 0, this.images.length);
+		lastIndex = -1;
+	}
+
 	public void setCustomFrames(int[] frameNumbers) {
 		this.frameNumbers = frameNumbers;
 	}
@@ -0,0 +1,72 @@
+package flappy_bird.utils;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+// Keeps up to "capacity" released objects around so they can be reset and reused
+public class ObjectPool<T> {
+	private final Supplier<T> factory;
+	private final ArrayDeque<T> free;
+	private final int capacity;
+
+	private long hits = 0;
+	private long misses = 0;
+	private long discarded = 0;
+
+	public ObjectPool(Supplier<T> factory, int capacity) {
+		this.factory = factory;
+		this.capacity = capacity;
+		this.free = new ArrayDeque<T>(capacity);
+	}
+
+	public void prewarm(int count) {
+		while (free.size() < Math.min(count, capacity)) {
+			free.push(factory.get());
+		}
+	}
+
+	public T obtain() {
+		T object = free.poll();
+		if (object != null) {
+			hits++;
+			return object;
+		}
+		misses++;
+		return factory.get();
+	}
+
+	// Returns false when the pool is full and the object should be disposed of
+	public boolean release(T object) {
+		if (free.size() >= capacity) {
+			discarded++;
+			return false;
+		}
+		free.push(object);
+		return true;
+	}
+
+	public int getFreeCount() {
+		return free.size();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public long getDiscarded() {
+		return discarded;
+	}
+
+	@Override
+	public String toString() {
+		return "hits=" + hits + " misses=" + misses + " discarded=" + discarded + " free=" + free.size() + "/" + capacity;
+	}
+}
@@ -0,0 +1,167 @@
+package flappy_bird.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Logger;
+
+import flappy_bird.Config;
+import flappy_bird.diagnostics.RollingHistogram;
+import flappy_bird.interfaces.QualityAware;
+
+// Picks the render quality from the measured time between drawn frames. Every
+// EVALUATION_FRAMES frames the p95 is compared with the budget of the current tier,
+// 1/targetFps or the longer frame of its cap: two windows in a row clearly over it
+// drop one tier, a run of windows within it raises one.
+// Between both thresholds nothing changes, and an upgrade that had to be undone
+// doubles the wait before the next try, so a machine at its limit does not flip
+// back and forth. References are weak, like in TimeScale
+public class QualityGovernor {
+	private static final Logger LOGGER = Logger.getLogger(QualityGovernor.class.getName());
+
+	private static final int EVALUATION_FRAMES = 120;
+	// 0.25 ms buckets up to 100 ms
+	private static final int BUCKETS = 400;
+	private static final long BUCKET_WIDTH = 250_000;
+	// Pauses (window dragged, scene loads) say nothing about the render cost
+	private static final long MAX_SAMPLE_NANOS = (long) (Config.maxFrameTime * 1_000_000_000);
+
+	private static final double DOWNGRADE_RATIO = 1.5;
+	private static final double UPGRADE_RATIO = 1.1;
+	private static final int DOWNGRADE_WINDOWS = 2;
+	private static final int MIN_UPGRADE_WINDOWS = 5;
+	// About 20 minutes at 60 fps, a machine at its limit hardly ever tries again
+	private static final int MAX_UPGRADE_WINDOWS = 640;
+
+	private static QualityGovernor instance = null;
+
+	private final boolean automatic;
+	private final int targetFps = Math.max(1, Config.targetFps);
+	private QualityTier tier;
+
+	private final RollingHistogram frameTimes = new RollingHistogram(EVALUATION_FRAMES, BUCKETS, BUCKET_WIDTH);
+	private int overBudget = 0;
+	private int withinBudget = 0;
+	private int upgradeWindows = MIN_UPGRADE_WINDOWS;
+	private boolean lastChangeUpgrade = false;
+
+	private final Set<QualityAware> listeners = Collections.newSetFromMap(new WeakHashMap<QualityAware, Boolean>());
+	private final List<QualityAware> notifying = new ArrayList<QualityAware>();
+
+	private QualityGovernor() {
+		QualityTier fixed = parseTier(Config.quality);
+		automatic = fixed == null;
+		tier = automatic ? QualityTier.HIGH : fixed;
+		LOGGER.info("Render quality " + tier + (automatic ? ", automatic" : ", fixed") + " on " + Config.cabinet
+				+ ", " + formatMillis(getBudget(tier)) + " ms frame budget");
+	}
+
+	public static QualityGovernor getInstance() {
+		if (instance == null) {
+			instance = new QualityGovernor();
+		}
+		return instance;
+	}
+
+	public QualityTier getTier() {
+		return tier;
+	}
+
+	public <T extends QualityAware> T register(T listener) {
+		listener.applyQuality(tier);
+		listeners.add(listener);
+		return listener;
+	}
+
+	// Time since the previous drawn frame, for every drawn frame. Pulses skipped by
+	// the cap do no work and would only show the vsync interval
+	public void recordFrame(long nanos) {
+		if (!automatic || nanos <= 0 || nanos > MAX_SAMPLE_NANOS) {
+			return;
+		}
+		frameTimes.record(nanos);
+		if (frameTimes.getCount() == EVALUATION_FRAMES) {
+			evaluate(frameTimes.getPercentile(0.95));
+			frameTimes.clear();
+		}
+	}
+
+	// True when the frame cap of the tier leaves this pulse out. sinceLastFrame:
+	// time since the last frame that was drawn
+	public boolean skipFrame(long sinceLastFrame) {
+		int maxFps = tier.getMaxFps();
+		if (maxFps == 0) {
+			return false;
+		}
+		long interval = 1_000_000_000L / maxFps;
+		// Pulses do not land exactly on the interval, an eighth of slack keeps every other one
+		return sinceLastFrame < interval - interval / 8;
+	}
+
+	// A capped tier is judged on the frame rate it aims for
+	private long getBudget(QualityTier tier) {
+		int fps = tier.getMaxFps() == 0 ? targetFps : Math.min(targetFps, tier.getMaxFps());
+		return 1_000_000_000L / fps;
+	}
+
+	private void evaluate(long p95) {
+		long budgetNanos = getBudget(tier);
+		if (p95 > budgetNanos * DOWNGRADE_RATIO) {
+			withinBudget = 0;
+			if (++overBudget >= DOWNGRADE_WINDOWS && !tier.isLowest()) {
+				if (lastChangeUpgrade) {
+					upgradeWindows = Math.min(upgradeWindows * 2, MAX_UPGRADE_WINDOWS);
+				}
+				change(tier.lower(), p95, false);
+			}
+		} else if (p95 <= budgetNanos * UPGRADE_RATIO) {
+			overBudget = 0;
+			if (++withinBudget >= upgradeWindows && tier != QualityTier.HIGH) {
+				change(tier.higher(), p95, true);
+			}
+		} else {
+			overBudget = 0;
+			withinBudget = 0;
+		}
+	}
+
+	private void change(QualityTier next, long p95, boolean upgrade) {
+		String message = "Render quality " + tier + " -> " + next + " on " + Config.cabinet + ": frame p95 "
+				+ formatMillis(p95) + " ms, budget " + formatMillis(getBudget(tier)) + " ms";
+		if (upgrade) {
+			LOGGER.info(message);
+		} else {
+			LOGGER.warning(message);
+		}
+		tier = next;
+		lastChangeUpgrade = upgrade;
+		overBudget = 0;
+		withinBudget = 0;
+
+		// Copied first, a listener may register others while applying
+		notifying.addAll(listeners);
+		for (int i = 0; i < notifying.size(); i++) {
+			notifying.get(i).applyQuality(tier);
+		}
+		notifying.clear();
+	}
+
+	private static QualityTier parseTier(String value) {
+		if (value == null || value.equalsIgnoreCase("auto")) {
+			return null;
+		}
+		try {
+			return QualityTier.valueOf(value.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			LOGGER.warning("Unknown render quality " + value + ", choosing it automatically");
+			return null;
+		}
+	}
+
+	private static String formatMillis(long nanos) {
+		return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+	}
+}
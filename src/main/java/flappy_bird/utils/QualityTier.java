@@ -0,0 +1,66 @@
+package flappy_bird.utils;
+
+// Render quality levels, best first. Each one gives up a bit more of the looks
+public enum QualityTier {
+	HIGH(true, true, false, true, true, 0),
+	// No effects or smoothing, animated text is cached as a bitmap
+	MEDIUM(false, false, true, true, true, 0),
+	// Only the city is left in the background, decorative idle animations stop
+	LOW(false, false, true, false, false, 0),
+	// Same as LOW, drawing half of the frames
+	MINIMAL(false, false, true, false, false, 30);
+
+	private final boolean effects;
+	private final boolean smoothImages;
+	private final boolean cacheNodes;
+	private final boolean fullParallax;
+	private final boolean idleAnimations;
+	private final int maxFps;
+
+	private QualityTier(boolean effects, boolean smoothImages, boolean cacheNodes, boolean fullParallax,
+			boolean idleAnimations, int maxFps) {
+		this.effects = effects;
+		this.smoothImages = smoothImages;
+		this.cacheNodes = cacheNodes;
+		this.fullParallax = fullParallax;
+		this.idleAnimations = idleAnimations;
+		this.maxFps = maxFps;
+	}
+
+	public boolean hasEffects() {
+		return effects;
+	}
+
+	public boolean hasSmoothImages() {
+		return smoothImages;
+	}
+
+	public boolean cachesNodes() {
+		return cacheNodes;
+	}
+
+	public boolean hasFullParallax() {
+		return fullParallax;
+	}
+
+	public boolean hasIdleAnimations() {
+		return idleAnimations;
+	}
+
+	// 0 when every pulse is drawn
+	public int getMaxFps() {
+		return maxFps;
+	}
+
+	public boolean isLowest() {
+		return ordinal() == values().length - 1;
+	}
+
+	public QualityTier lower() {
+		return isLowest() ? this : values()[ordinal() + 1];
+	}
+
+	public QualityTier higher() {
+		return ordinal() == 0 ? this : values()[ordinal() - 1];
+	}
+}
@@ -0,0 +1,124 @@
+package flappy_bird.utils;
+
+import flappy_bird.diagnostics.SoundEvent;
+import javafx.scene.media.AudioClip;
+
+// One decoded clip per effect, shared by every game session. Each effect has a
+// voice limit: when full, high priority effects restart and low priority ones are dropped
+public enum SoundEffect {
+	WING("sfx/wing.mp3", 400, 2, 1, false),
+	POINT("sfx/point.mp3", 1070, 2, 2, true),
+	HIT("sfx/hit.mp3", 600, 1, 3, true),
+	DIE("sfx/die.mp3", 810, 1, 3, true);
+
+	private static final long NANOS_IN_MILLI = 1_000_000;
+
+	private final String path;
+	private final long lengthNanos;
+	private final int priority;
+	private final boolean restartWhenFull;
+
+	// End time of every voice that may still be sounding
+	private final long[] voiceEnds;
+
+	private AudioClip clip;
+	private long played = 0;
+	private long dropped = 0;
+
+	private SoundEffect(String path, long lengthMillis, int maxVoices, int priority, boolean restartWhenFull) {
+		this.path = path;
+		this.lengthNanos = lengthMillis * NANOS_IN_MILLI;
+		this.priority = priority;
+		this.restartWhenFull = restartWhenFull;
+		this.voiceEnds = new long[maxVoices];
+	}
+
+	synchronized void load() {
+		if (clip == null) {
+			clip = new AudioClip(ClassLoader.getSystemResource(path).toString());
+			clip.setPriority(priority);
+		}
+	}
+
+	public void play() {
+		load();
+		long now = System.nanoTime();
+
+		int free = freeVoice(now);
+		boolean restarted = false;
+		if (free < 0) {
+			if (!restartWhenFull) {
+				dropped++;
+				commitEvent("dropped", now);
+				return;
+			}
+			stop();
+			free = 0;
+			restarted = true;
+		}
+
+		if (AudioResources.activeVoices(now) >= AudioResources.MAX_VOICES && !AudioResources.makeRoom(priority, now)) {
+			dropped++;
+			commitEvent("dropped", now);
+			return;
+		}
+
+		// Sounds follow the game speed, a faster clip also frees its voice sooner
+		double rate = TimeScale.getInstance().getClipRate();
+		clip.setRate(rate);
+		clip.play();
+		voiceEnds[free] = now + (long) (lengthNanos / rate);
+		played++;
+		commitEvent(restarted ? "restarted" : "played", now);
+	}
+
+	private void commitEvent(String outcome, long now) {
+		SoundEvent event = new SoundEvent();
+		if (event.shouldCommit()) {
+			event.effect = name();
+			event.outcome = outcome;
+			event.activeVoices = AudioResources.activeVoices(now);
+			event.commit();
+		}
+	}
+
+	public void stop() {
+		if (clip != null) {
+			clip.stop();
+		}
+		for (int i = 0; i < voiceEnds.length; i++) {
+			voiceEnds[i] = 0;
+		}
+	}
+
+	private int freeVoice(long now) {
+		for (int i = 0; i < voiceEnds.length; i++) {
+			if (voiceEnds[i] - now <= 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	int activeVoices(long now) {
+		int active = 0;
+		for (int i = 0; i < voiceEnds.length; i++) {
+			if (voiceEnds[i] - now > 0) {
+				active++;
+			}
+		}
+		return active;
+	}
+
+	int getPriority() {
+		return priority;
+	}
+
+	public long getPlayed() {
+		return played;
+	}
+
+	public long getDropped() {
+		return dropped;
+	}
+}
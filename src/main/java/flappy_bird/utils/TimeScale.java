@@ -0,0 +1,88 @@
+package flappy_bird.utils;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import flappy_bird.Config;
+import javafx.animation.Animation;
+import javafx.scene.media.MediaPlayer;
+
+// Global speed of the game. The loop feeds scaled time to the simulation, and
+// registered animations and media players get the same rate. References are
+// weak, finished objects do not need to unregister
+public class TimeScale {
+	public static final double MIN = 0.25;
+	public static final double MAX = 16;
+
+	// Playback rate limits of MediaPlayer and AudioClip
+	private static final double MAX_MEDIA_RATE = 8;
+	private static final double MIN_CLIP_RATE = 0.125;
+
+	private static TimeScale instance = null;
+
+	private double scale = clamp(Config.initialTimeScale);
+
+	private final Set<Animation> animations = Collections.newSetFromMap(new WeakHashMap<Animation, Boolean>());
+	private final Set<MediaPlayer> mediaPlayers = Collections.newSetFromMap(new WeakHashMap<MediaPlayer, Boolean>());
+
+	private TimeScale() {
+	}
+
+	public static TimeScale getInstance() {
+		if (instance == null) {
+			instance = new TimeScale();
+		}
+		return instance;
+	}
+
+	public double get() {
+		return scale;
+	}
+
+	public void set(double scale) {
+		this.scale = clamp(scale);
+		for (Animation animation : animations) {
+			animation.setRate(this.scale);
+		}
+		for (MediaPlayer mediaPlayer : mediaPlayers) {
+			mediaPlayer.setRate(getMediaRate());
+		}
+	}
+
+	public void faster() {
+		set(scale * 2);
+	}
+
+	public void slower() {
+		set(scale / 2);
+	}
+
+	public void reset() {
+		set(1);
+	}
+
+	public <T extends Animation> T register(T animation) {
+		animation.setRate(scale);
+		animations.add(animation);
+		return animation;
+	}
+
+	public MediaPlayer register(MediaPlayer mediaPlayer) {
+		mediaPlayer.setRate(getMediaRate());
+		mediaPlayers.add(mediaPlayer);
+		return mediaPlayer;
+	}
+
+	public double getMediaRate() {
+		return Math.min(scale, MAX_MEDIA_RATE);
+	}
+
+	public double getClipRate() {
+		return Math.max(MIN_CLIP_RATE, Math.min(scale, MAX_MEDIA_RATE));
+	}
+
+	private static double clamp(double scale) {
+		return Math.max(MIN, Math.min(scale, MAX));
+	}
+}
@@ -1,8 +1,9 @@
 package flappy_bird.utils;
 
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
-import javafx.scene.image.PixelReader;
-import javafx.scene.image.PixelWriter;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 
@@ -11,23 +12,92 @@ public class Utils {
 	public static Image reColor(Image inputImage, Color[] oldColors, Color[] newColors) {
 		int width = (int) inputImage.getWidth();
 		int height = (int) inputImage.getHeight();
+
+		// Whole image in one read and one write instead of a Color per pixel
+		int[] pixels = new int[width * height];
+		inputImage.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+
+		reColor(pixels, toArgb(oldColors), toArgb(newColors));
+
 		WritableImage outputImage = new WritableImage(width, height);
-		PixelReader reader = inputImage.getPixelReader();
-		PixelWriter writer = outputImage.getPixelWriter();
-
-		for (int y = 0; y < height; y++) {
-			for (int x = 0; x < width; x++) {
-				Color current = reader.getColor(x, y);
-				for (int i = 0; i < oldColors.length; i++) {
-					if (oldColors[i].equals(current)) {
-						current = newColors[i];
-						break;
-					}
+		outputImage.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+		return outputImage;
+	}
+
+	// Palette swap over non premultiplied ARGB pixels, in place
+	public static void reColor(int[] pixels, int[] oldColors, int[] newColors) {
+		// Open addressing table, at most half full
+		int size = Integer.highestOneBit(Math.max(oldColors.length, 1) * 4);
+		int mask = size - 1;
+		int[] keys = new int[size];
+		int[] values = new int[size];
+		boolean[] used = new boolean[size];
+		for (int i = 0; i < oldColors.length; i++) {
+			int slot = hash(oldColors[i]) & mask;
+			while (used[slot] && keys[slot] != oldColors[i]) {
+				slot = (slot + 1) & mask;
+			}
+			if (!used[slot]) {
+				// First match wins, as in a linear scan of the palette
+				used[slot] = true;
+				keys[slot] = oldColors[i];
+				values[slot] = newColors[i];
+			}
+		}
+
+		// Sprites are mostly runs of the same color: remember the last answer
+		int lastIn = 0;
+		int lastOut = 0;
+		boolean hasLast = false;
+		for (int i = 0; i < pixels.length; i++) {
+			int current = pixels[i];
+			if (hasLast && current == lastIn) {
+				pixels[i] = lastOut;
+				continue;
+			}
+			int result = current;
+			int slot = hash(current) & mask;
+			while (used[slot]) {
+				if (keys[slot] == current) {
+					result = values[slot];
+					break;
 				}
-				writer.setColor(x, y, current);
+				slot = (slot + 1) & mask;
 			}
+			pixels[i] = result;
+			lastIn = current;
+			lastOut = result;
+			hasLast = true;
 		}
+	}
 
-		return outputImage;
+	public static int[] toArgb(Color[] colors) {
+		int[] argb = new int[colors.length];
+		for (int i = 0; i < colors.length; i++) {
+			Color color = colors[i];
+			argb[i] = (int) Math.round(color.getOpacity() * 255) << 24 | (int) Math.round(color.getRed() * 255) << 16
+					| (int) Math.round(color.getGreen() * 255) << 8 | (int) Math.round(color.getBlue() * 255);
+		}
+		return argb;
+	}
+
+	private static int hash(int color) {
+		int h = color * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	// Paints an ImageView as the scene graph would: position, then rotation and scale around its center
+	public static void drawImageView(GraphicsContext gc, ImageView view) {
+		Image image = view.getImage();
+		double width = image.getWidth();
+		double height = image.getHeight();
+
+		gc.save();
+		gc.translate(view.getLayoutX() + view.getTranslateX() + view.getX() + width / 2,
+				view.getLayoutY() + view.getTranslateY() + view.getY() + height / 2);
+		gc.rotate(view.getRotate());
+		gc.scale(view.getScaleX(), view.getScaleY());
+		gc.drawImage(image, -width / 2, -height / 2);
+		gc.restore();
 	}
 }
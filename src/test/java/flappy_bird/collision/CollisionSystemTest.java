@@ -0,0 +1,129 @@
+package flappy_bird.collision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CollisionSystemTest {
+
+	@Test
+	void matchesBruteForceOnRandomBoxes() {
+		Random random = new Random(11);
+		CollisionSystem system = new CollisionSystem();
+		for (int round = 0; round < 500; round++) {
+			int count = 1 + random.nextInt(40);
+			double[][] boxes = new double[count][];
+			boolean[] collidators = new boolean[count];
+			system.clear();
+			for (int i = 0; i < count; i++) {
+				// Whole numbers, so shared edges and corners come up often
+				double x = random.nextInt(60);
+				double y = random.nextInt(60);
+				boxes[i] = new double[] { x, y, x + 1 + random.nextInt(15), y + 1 + random.nextInt(15) };
+				collidators[i] = random.nextInt(4) == 0;
+				assertEquals(i, system.add(boxes[i][0], boxes[i][1], boxes[i][2], boxes[i][3], collidators[i]));
+			}
+
+			List<String> found = new ArrayList<String>();
+			system.detect((a, b) -> found.add(a + ">" + b));
+			List<String> expected = bruteForce(boxes, collidators);
+
+			Collections.sort(found);
+			Collections.sort(expected);
+			assertEquals(expected, found, "round " + round);
+		}
+	}
+
+	@Test
+	void countsCandidatesAndHits() {
+		CollisionSystem system = new CollisionSystem();
+		// Bird, a pipe it touches, a pipe in x range but not in y, and one far away
+		system.add(0, 0, 10, 10, true);
+		system.add(5, 5, 15, 15, false);
+		system.add(8, 50, 20, 60, false);
+		system.add(100, 0, 110, 10, false);
+		system.detect((a, b) -> {
+		});
+
+		assertEquals(4, system.getBoxCount());
+		assertEquals(2, system.getCandidatePairs());
+		assertEquals(1, system.getHits());
+		assertEquals(3, system.getBruteForcePairs());
+		// Two plain boxes overlapping in x are never candidates
+		assertEquals(2, system.getTotalCandidatePairs());
+
+		system.detect((a, b) -> {
+		});
+		assertEquals(4, system.getTotalCandidatePairs());
+		assertEquals(2, system.getTotalHits());
+		assertEquals(6, system.getTotalBruteForcePairs());
+
+		system.resetCounters();
+		assertEquals(0, system.getTotalCandidatePairs());
+		assertEquals(0, system.getTotalHits());
+		assertEquals(0, system.getTotalBruteForcePairs());
+	}
+
+	@Test
+	void twoCollidatorsReportBothWays() {
+		CollisionSystem system = new CollisionSystem();
+		system.add(0, 0, 10, 10, true);
+		system.add(5, 5, 15, 15, true);
+		List<String> found = new ArrayList<String>();
+		system.detect((a, b) -> found.add(a + ">" + b));
+
+		Collections.sort(found);
+		assertEquals(Arrays.asList("0>1", "1>0"), found);
+		assertEquals(1, system.getHits());
+	}
+
+	@Test
+	void centerInsideABoxCountsEvenWhenEdgesOnlyTouch() {
+		CollisionSystem system = new CollisionSystem();
+		// A zero height collidator on the top edge of the pipe: no overlap, but its center is inside
+		system.add(2, 10, 8, 10, true);
+		system.add(0, 10, 10, 30, false);
+		List<String> found = new ArrayList<String>();
+		system.detect((a, b) -> found.add(a + ">" + b));
+
+		assertEquals(Collections.singletonList("0>1"), found);
+	}
+
+	// Every pair with a collidator, tested the way the narrow phase does
+	private static List<String> bruteForce(double[][] boxes, boolean[] collidators) {
+		List<String> hits = new ArrayList<String>();
+		for (int a = 0; a < boxes.length; a++) {
+			for (int b = a + 1; b < boxes.length; b++) {
+				if (collidators[a] && collidators[b]) {
+					if (intersects(boxes[a], boxes[b])) {
+						hits.add(a + ">" + b);
+						hits.add(b + ">" + a);
+					}
+				} else if (collidators[a] || collidators[b]) {
+					int collidator = collidators[a] ? a : b;
+					int other = collidators[a] ? b : a;
+					double[] box = boxes[collidator];
+					if (intersects(box, boxes[other])
+							|| contains(boxes[other], (box[0] + box[2]) / 2, (box[1] + box[3]) / 2)) {
+						hits.add(collidator + ">" + other);
+					}
+				}
+			}
+		}
+		return hits;
+	}
+
+	private static boolean intersects(double[] a, double[] b) {
+		return a[0] < b[2] && b[0] < a[2] && a[1] < b[3] && b[1] < a[3];
+	}
+
+	private static boolean contains(double[] box, double x, double y) {
+		return x >= box[0] && x <= box[2] && y >= box[1] && y <= box[3];
+	}
+}
@@ -0,0 +1,125 @@
+package flappy_bird.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+// Client and server talk over real sockets on a local port
+class LeaderboardTest {
+	private static final long WAIT_MILLIS = 15_000;
+
+	private LeaderboardServer server;
+	private LeaderboardClient client;
+
+	@AfterEach
+	void close() {
+		if (client != null) {
+			client.close();
+		}
+		if (server != null) {
+			server.stop();
+		}
+	}
+
+	@Test
+	void submittedScoresReachTheTop() throws Exception {
+		server = new LeaderboardServer(0, 2);
+		server.start();
+		client = new LeaderboardClient("http://localhost:" + server.getPort() + "/", "test");
+
+		client.submit("ana", 12);
+		client.submit("beto", 30);
+		client.submit("ana", 25);
+		client.submit("carla", 3);
+		waitFor(() -> client.getSent() == 4);
+
+		// The first call only starts the fetch
+		waitFor(() -> !client.getTop().isEmpty());
+		List<ScoreEntry> top = client.getTop();
+		assertEquals(3, top.size());
+		assertEntry(top.get(0), "beto", 30);
+		assertEntry(top.get(1), "ana", 25);
+		assertEntry(top.get(2), "carla", 3);
+		assertEquals("test", top.get(0).getCabinet());
+		assertEquals(0, client.getUnsent());
+	}
+
+	@Test
+	void scoresSubmittedWhileTheServerIsDownAreDeliveredLater() throws Exception {
+		int port = freePort();
+		client = new LeaderboardClient("http://localhost:" + port, "test");
+		for (int i = 0; i < 100; i++) {
+			client.submit("player" + i, i);
+		}
+		waitFor(() -> client.getFailures() > 0);
+		assertEquals(0, client.getSent());
+
+		server = new LeaderboardServer(port, 2);
+		server.start();
+		waitFor(() -> client.getSent() == 100);
+		assertEquals(0, client.getUnsent());
+		assertEquals(0, client.getDropped());
+
+		List<ScoreEntry> top = server.getTop(3);
+		assertEntry(top.get(0), "player99", 99);
+		assertEntry(top.get(2), "player97", 97);
+	}
+
+	@Test
+	void rateLimitedBatchesAreKept() throws Exception {
+		AtomicInteger refusals = new AtomicInteger(2);
+		HttpServer limiter = HttpServer.create(new InetSocketAddress(0), 0);
+		limiter.createContext("/scores", exchange -> {
+			try (InputStream in = exchange.getRequestBody()) {
+				while (in.read() != -1) {
+					// Discard
+				}
+			}
+			int status = refusals.getAndDecrement() > 0 ? 429 : 204;
+			exchange.sendResponseHeaders(status, -1);
+			exchange.close();
+		});
+		limiter.start();
+		try {
+			client = new LeaderboardClient("http://localhost:" + limiter.getAddress().getPort(), "test");
+			client.submit("ana", 7);
+			waitFor(() -> client.getSent() == 1);
+			assertEquals(2, client.getFailures());
+			assertEquals(0, client.getDropped());
+		} finally {
+			limiter.stop(0);
+		}
+	}
+
+	private static void assertEntry(ScoreEntry entry, String player, int score) {
+		assertEquals(player, entry.getPlayer());
+		assertEquals(score, entry.getScore());
+	}
+
+	// Nothing listens there once the socket is closed
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, "Timed out");
+			Thread.sleep(20);
+		}
+	}
+}
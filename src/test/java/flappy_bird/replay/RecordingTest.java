@@ -0,0 +1,158 @@
+package flappy_bird.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import flappy_bird.Config;
+import flappy_bird.batch.BotPilot;
+import flappy_bird.simulation.GameRules;
+import flappy_bird.simulation.World;
+
+class RecordingTest {
+	private static final int TICK_RATE = 120;
+	private static final double BIRD_X = Config.playerCenter;
+	private static final double BIRD_Y = Config.baseHeight / 2;
+	// Two minutes of play at most
+	private static final long MAX_TICKS = TICK_RATE * 120;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void savedBotGamesReplayToTheSameEnd() throws IOException {
+		int scored = 0;
+		for (long seed = 1; seed <= 20; seed++) {
+			World played = new World(GameRules.DEFAULT, BIRD_X, BIRD_Y, seed);
+			Recording recording = new Recording(seed, TICK_RATE, BIRD_X, BIRD_Y, GameRules.DEFAULT);
+			play(played, recording, seed);
+
+			Path file = dir.resolve("run-" + seed + ".fbr");
+			recording.save(file);
+			Recording loaded = Recording.load(file);
+			World replayed = Replayer.replay(loaded);
+
+			assertEquals(played.getTick(), replayed.getTick(), "tick, seed " + seed);
+			assertEquals(played.getScore(), replayed.getScore(), "score, seed " + seed);
+			assertEquals(played.isEnded(), replayed.isEnded(), "ended, seed " + seed);
+			assertEquals(played.getBird().getY(), replayed.getBird().getY(), "bird y, seed " + seed);
+			assertTrue(Replayer.verify(loaded));
+			if (played.getScore() > 0) {
+				scored++;
+			}
+		}
+		// Games that end at the first pipe would prove little
+		assertTrue(scored >= 10, scored + " games scored");
+	}
+
+	// What GameSceneHandler does: each flap is recorded at the tick it arrives
+	// in, with the offset rounded the way the game rounds it
+	private static void play(World world, Recording recording, long seed) {
+		BotPilot pilot = new BotPilot(40, 4, seed);
+		Random offsets = new Random(seed);
+		double step = 1.0 / TICK_RATE;
+		while (!world.isEnded() && world.getTick() < MAX_TICKS) {
+			if (pilot.shouldFlap(world)) {
+				int units = Recording.toUnits(offsets.nextDouble());
+				recording.addFlap(world.getTick(), units);
+				world.flap(Recording.toStepOffset(units));
+			}
+			world.step(step);
+		}
+		recording.finish(world.getTick(), world.getScore());
+	}
+
+	@Test
+	void varintsAndOffsetsSurviveTheirBoundaries() throws IOException {
+		long[] deltas = { 0, 1, 127, 128, 16_383, 16_384, 2_097_151, 2_097_152, Integer.MAX_VALUE,
+				Long.MAX_VALUE / 4 };
+		int[] offsets = { 0, 1, 127, 128, 32_767, 32_768, 65_534, 65_535, 0, 65_535 };
+
+		Recording recording = new Recording(-7, TICK_RATE, BIRD_X, BIRD_Y, GameRules.DEFAULT);
+		long tick = 0;
+		for (int i = 0; i < deltas.length; i++) {
+			tick += deltas[i];
+			recording.addFlap(tick, offsets[i]);
+		}
+		recording.finish(Long.MAX_VALUE, Integer.MAX_VALUE);
+
+		Recording read = roundTrip(recording);
+		assertEquals(-7, read.getSeed());
+		assertEquals(deltas.length, read.getFlapCount());
+		for (int i = 0; i < deltas.length; i++) {
+			assertEquals(recording.getFlapTick(i), read.getFlapTick(i), "tick " + i);
+			assertEquals(offsets[i], read.getFlapOffset(i), "offset " + i);
+		}
+		assertEquals(Long.MAX_VALUE, read.getFinalTick());
+		assertEquals(Integer.MAX_VALUE, read.getFinalScore());
+	}
+
+	@Test
+	void varintsTakeOneMoreByteEverySevenBits() throws IOException {
+		int base = size(flapAfter(0));
+		assertEquals(base, size(flapAfter(127)));
+		assertEquals(base + 1, size(flapAfter(128)));
+		assertEquals(base + 1, size(flapAfter(16_383)));
+		assertEquals(base + 2, size(flapAfter(16_384)));
+	}
+
+	@Test
+	void offsetsAreClampedToSixteenBits() {
+		assertEquals(0, Recording.toUnits(-0.5));
+		assertEquals(0, Recording.toUnits(0));
+		assertEquals(Recording.STEP_OFFSET_UNITS / 2, Recording.toUnits(0.5));
+		assertEquals(Recording.STEP_OFFSET_UNITS - 1, Recording.toUnits(0.99999999));
+		assertEquals(Recording.STEP_OFFSET_UNITS - 1, Recording.toUnits(1));
+		assertEquals(0.5, Recording.toStepOffset(Recording.toUnits(0.5)));
+	}
+
+	@Test
+	void truncatedRecordingIsRejected() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		flapAfter(16_384).write(out);
+		byte[] bytes = out.toByteArray();
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length - 2);
+		assertThrows(IOException.class, () -> Recording.read(new ByteArrayInputStream(truncated)));
+
+		byte[] foreign = bytes.clone();
+		foreign[0] = 0;
+		assertThrows(IOException.class, () -> Recording.read(new ByteArrayInputStream(foreign)));
+	}
+
+	@Test
+	void finishedRecordingIgnoresLateFlaps() {
+		Recording recording = flapAfter(10);
+		recording.addFlap(20, 0);
+		assertEquals(1, recording.getFlapCount());
+	}
+
+	private static Recording flapAfter(long delta) {
+		Recording recording = new Recording(1, TICK_RATE, BIRD_X, BIRD_Y, GameRules.DEFAULT);
+		recording.addFlap(delta, 65_535);
+		// Only the flap delta changes size between recordings
+		recording.finish(0, 0);
+		return recording;
+	}
+
+	private static int size(Recording recording) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		recording.write(out);
+		return out.size();
+	}
+
+	private static Recording roundTrip(Recording recording) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		recording.write(out);
+		return Recording.read(new ByteArrayInputStream(out.toByteArray()));
+	}
+}
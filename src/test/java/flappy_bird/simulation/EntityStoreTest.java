@@ -0,0 +1,130 @@
+package flappy_bird.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class EntityStoreTest {
+
+	@Test
+	void handleIsStaleAfterDestroy() {
+		EntityStore store = new EntityStore();
+		int pipe = create(store, 10);
+		assertTrue(store.isAlive(pipe));
+
+		store.destroy(pipe);
+		assertFalse(store.isAlive(pipe));
+		assertEquals(EntityStore.NO_ENTITY, store.rowOf(pipe));
+		assertEquals(0, store.size());
+
+		// Destroying it again does nothing
+		store.destroy(pipe);
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	void reusedSlotGetsANewGeneration() {
+		EntityStore store = new EntityStore();
+		int first = create(store, 10);
+		store.destroy(first);
+		int second = create(store, 20);
+
+		assertNotEquals(first, second);
+		assertEquals(first & 0xFFFF, second & 0xFFFF, "same slot");
+		assertFalse(store.isAlive(first));
+		assertTrue(store.isAlive(second));
+
+		// The stale handle must not reach the new entity
+		store.destroy(first);
+		assertTrue(store.isAlive(second));
+		assertEquals(20, store.getPosX(store.rowOf(second)));
+	}
+
+	@Test
+	void swapRemoveKeepsTheOtherHandles() {
+		EntityStore store = new EntityStore();
+		int a = create(store, 1);
+		int b = create(store, 2);
+		int c = create(store, 3);
+
+		// The last row moves into the first one
+		store.destroy(a);
+		assertEquals(2, store.size());
+		assertEquals(0, store.rowOf(c));
+		assertEquals(3, store.getPosX(store.rowOf(c)));
+		assertEquals(2, store.getPosX(store.rowOf(b)));
+		assertEquals(c, store.getHandle(store.rowOf(c)));
+		// Bounds move with the row
+		assertEquals(3 + 5, store.getMinX(store.rowOf(c)));
+	}
+
+	@Test
+	void invalidHandlesAreNotAlive() {
+		EntityStore store = new EntityStore();
+		assertFalse(store.isAlive(EntityStore.NO_ENTITY));
+		// A slot never handed out
+		assertFalse(store.isAlive(7));
+	}
+
+	@Test
+	void clearDestroysEverything() {
+		EntityStore store = new EntityStore();
+		List<Integer> handles = new ArrayList<Integer>();
+		for (int i = 0; i < 40; i++) {
+			handles.add(create(store, i));
+		}
+		store.clear();
+		assertEquals(0, store.size());
+		for (int handle : handles) {
+			assertFalse(store.isAlive(handle));
+		}
+	}
+
+	@Test
+	void randomChurnMatchesAMap() {
+		EntityStore store = new EntityStore();
+		Map<Integer, Double> alive = new HashMap<Integer, Double>();
+		List<Integer> dead = new ArrayList<Integer>();
+		Random random = new Random(3);
+
+		for (int i = 0; i < 20_000; i++) {
+			if (alive.isEmpty() || random.nextInt(3) > 0 && alive.size() < 200) {
+				double x = random.nextInt(1_000_000);
+				int handle = create(store, x);
+				assertFalse(alive.containsKey(handle), "handle given twice while alive");
+				alive.put(handle, x);
+			} else {
+				List<Integer> handles = new ArrayList<Integer>(alive.keySet());
+				int handle = handles.get(random.nextInt(handles.size()));
+				store.destroy(handle);
+				alive.remove(handle);
+				dead.add(handle);
+			}
+		}
+
+		assertEquals(alive.size(), store.size());
+		for (Map.Entry<Integer, Double> entry : alive.entrySet()) {
+			int row = store.rowOf(entry.getKey());
+			assertEquals(entry.getValue(), store.getPosX(row));
+			assertEquals((int) entry.getKey(), store.getHandle(row));
+		}
+		for (int handle : dead) {
+			if (!alive.containsKey(handle)) {
+				assertFalse(store.isAlive(handle));
+			}
+		}
+	}
+
+	private static int create(EntityStore store, double x) {
+		return store.create(EntityStore.KIND_PIPE, x, -100, 5, 0, 10, 10, EntityStore.SPRITE_PIPE_TOP, 10);
+	}
+}
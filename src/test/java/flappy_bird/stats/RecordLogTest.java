@@ -0,0 +1,158 @@
+package flappy_bird.stats;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RecordLogTest {
+	@TempDir
+	Path dir;
+
+	@Test
+	void replaysWhatWasAppended() throws IOException {
+		Path path = dir.resolve("a.log");
+		try (RecordLog log = RecordLog.create(path, 3, records("one", "two"))) {
+			log.append(bytes("three"));
+		}
+
+		List<String> replayed = new ArrayList<String>();
+		try (RecordLog log = RecordLog.open(path, RecordLog.HEADER_SIZE, payload -> replayed.add(text(payload)))) {
+			assertEquals(3, log.getGeneration());
+		}
+		assertEquals(Arrays.asList("one", "two", "three"), replayed);
+	}
+
+	@Test
+	void tornTailIsDroppedAndOverwritten() throws IOException {
+		Path path = dir.resolve("a.log");
+		long lastRecord;
+		try (RecordLog log = RecordLog.create(path, 0, records("one", "two"))) {
+			lastRecord = log.getEnd();
+			log.append(bytes("three"));
+		}
+		// The payload of the last record never made it: its checksum fails
+		corrupt(path, lastRecord + 8);
+
+		List<String> replayed = new ArrayList<String>();
+		try (RecordLog log = RecordLog.open(path, RecordLog.HEADER_SIZE, payload -> replayed.add(text(payload)))) {
+			assertEquals(lastRecord, log.getEnd());
+			log.append(bytes("four"));
+		}
+		assertEquals(Arrays.asList("one", "two"), replayed);
+
+		replayed.clear();
+		try (RecordLog log = RecordLog.open(path, RecordLog.HEADER_SIZE, payload -> replayed.add(text(payload)))) {
+		}
+		assertEquals(Arrays.asList("one", "two", "four"), replayed);
+	}
+
+	@Test
+	void checksumMismatchStopsTheReplay() throws IOException {
+		Path path = dir.resolve("a.log");
+		long second;
+		try (RecordLog log = RecordLog.create(path, 0, records("one"))) {
+			second = log.getEnd();
+			log.append(bytes("two"));
+			log.append(bytes("three"));
+		}
+		// Flips a byte of the stored checksum of the second record
+		corrupt(path, second + 4);
+
+		List<String> replayed = new ArrayList<String>();
+		try (RecordLog log = RecordLog.open(path, RecordLog.HEADER_SIZE, payload -> replayed.add(text(payload)))) {
+		}
+		assertEquals(Arrays.asList("one"), replayed);
+	}
+
+	@Test
+	void replayStartsAtTheGivenOffset() throws IOException {
+		Path path = dir.resolve("a.log");
+		long second;
+		try (RecordLog log = RecordLog.create(path, 0, records("one"))) {
+			second = log.getEnd();
+			log.append(bytes("two"));
+		}
+
+		List<String> replayed = new ArrayList<String>();
+		try (RecordLog log = RecordLog.open(path, second, payload -> replayed.add(text(payload)))) {
+		}
+		assertEquals(Arrays.asList("two"), replayed);
+	}
+
+	@Test
+	void growsPastOneChunk() throws IOException {
+		Path path = dir.resolve("a.log");
+		byte[] big = new byte[40 * 1024];
+		Arrays.fill(big, (byte) 7);
+		try (RecordLog log = RecordLog.create(path, 0, records())) {
+			for (int i = 0; i < 5; i++) {
+				log.append(big);
+			}
+		}
+
+		List<byte[]> replayed = new ArrayList<byte[]>();
+		try (RecordLog log = RecordLog.open(path, RecordLog.HEADER_SIZE, replayed::add)) {
+		}
+		assertEquals(5, replayed.size());
+		assertArrayEquals(big, replayed.get(4));
+	}
+
+	@Test
+	void rejectsFilesThatAreNotALog() throws IOException {
+		Path empty = Files.write(dir.resolve("empty.log"), new byte[0]);
+		assertThrows(IOException.class, () -> RecordLog.open(empty, RecordLog.HEADER_SIZE, payload -> {
+		}));
+
+		// A crash while writing a new generation leaves it without a header
+		Path headerless = Files.write(dir.resolve("headerless.log"), new byte[64]);
+		assertThrows(IOException.class, () -> RecordLog.open(headerless, RecordLog.HEADER_SIZE, payload -> {
+		}));
+	}
+
+	@Test
+	void rejectsAnOffsetPastTheFile() throws IOException {
+		Path path = dir.resolve("a.log");
+		try (RecordLog log = RecordLog.create(path, 0, records("one"))) {
+		}
+		long size = Files.size(path);
+		assertThrows(IOException.class, () -> RecordLog.open(path, size + 1, payload -> {
+		}));
+	}
+
+	static void corrupt(Path path, long position) throws IOException {
+		try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+			file.seek(position);
+			int value = file.read();
+			file.seek(position);
+			file.write(value ^ 0xFF);
+		}
+	}
+
+	private static List<byte[]> records(String... values) {
+		List<byte[]> records = new ArrayList<byte[]>();
+		for (String value : values) {
+			records.add(bytes(value));
+		}
+		return records;
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String text(byte[] payload) {
+		return new String(payload, StandardCharsets.UTF_8);
+	}
+}
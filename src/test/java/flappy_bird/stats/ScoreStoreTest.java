@@ -0,0 +1,207 @@
+package flappy_bird.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import flappy_bird.simulation.DeathCause;
+
+// Every test writes games, damages the files the way a crash or a bad disk would
+// and checks what a new store recovers from them
+class ScoreStoreTest {
+	private static final String[] PLAYERS = { "ana", "beto", "carla" };
+
+	@TempDir
+	Path dir;
+
+	private final Random random = new Random(42);
+	private final Map<String, PlayerStats> expected = new HashMap<String, PlayerStats>();
+	private final List<GameResult> played = new ArrayList<GameResult>();
+
+	@Test
+	void keepsTotalsAcrossRuns() throws Exception {
+		ScoreStore store = new ScoreStore(dir);
+		play(store, 40);
+		assertStats(store);
+		store.close();
+
+		assertStats(reopen());
+	}
+
+	@Test
+	void replaysTheGamesAfterTheIndex() throws Exception {
+		ScoreStore store = new ScoreStore(dir);
+		// The index is written on the 16th game
+		play(store, 16);
+		store.awaitWrites();
+		Path oldIndex = Files.copy(dir.resolve("scores.idx"), dir.resolve("old.idx"));
+		play(store, 5);
+		store.close();
+
+		// As if the game died before writing the index again
+		Files.move(oldIndex, dir.resolve("scores.idx"), StandardCopyOption.REPLACE_EXISTING);
+		assertStats(reopen());
+	}
+
+	@Test
+	void tornLastGameIsTheOnlyOneLost() throws Exception {
+		ScoreStore store = new ScoreStore(dir);
+		play(store, 16);
+		store.awaitWrites();
+		Path oldIndex = Files.copy(dir.resolve("scores.idx"), dir.resolve("old.idx"));
+		play(store, 5);
+		store.close();
+		Files.move(oldIndex, dir.resolve("scores.idx"), StandardCopyOption.REPLACE_EXISTING);
+
+		List<Long> offsets = recordOffsets(dir.resolve("scores-0.log"));
+		RecordLogTest.corrupt(dir.resolve("scores-0.log"), offsets.get(offsets.size() - 1) + 8);
+		forget(played.get(played.size() - 1));
+
+		ScoreStore recovered = new ScoreStore(dir);
+		assertStats(recovered);
+
+		// New games go where the torn one was and survive the next start
+		play(recovered, 3);
+		recovered.close();
+		assertStats(reopen());
+	}
+
+	@Test
+	void corruptIndexFallsBackToTheLog() throws Exception {
+		ScoreStore store = new ScoreStore(dir);
+		play(store, 30);
+		store.close();
+
+		RecordLogTest.corrupt(dir.resolve("scores.idx"), 20);
+		assertStats(reopen());
+	}
+
+	@Test
+	void indexPastTheEndOfTheLogFallsBackToTheLog() throws Exception {
+		ScoreStore store = new ScoreStore(dir);
+		play(store, 30);
+		store.close();
+
+		// Only the first 10 games are left in the log, the index covers 30
+		List<Long> offsets = recordOffsets(dir.resolve("scores-0.log"));
+		try (RandomAccessFile file = new RandomAccessFile(dir.resolve("scores-0.log").toFile(), "rw")) {
+			file.setLength(offsets.get(10));
+		}
+		while (played.size() > 10) {
+			forget(played.get(played.size() - 1));
+		}
+
+		assertStats(reopen());
+	}
+
+	@Test
+	void headerlessNewerGenerationFallsBackToTheOlderOne() throws Exception {
+		ScoreStore store = new ScoreStore(dir);
+		play(store, 30);
+		store.close();
+
+		// A compaction cut before its header was written, and no usable index
+		Files.write(dir.resolve("scores-1.log"), new byte[4096]);
+		Files.delete(dir.resolve("scores.idx"));
+
+		assertStats(reopen());
+		assertFalse(Files.exists(dir.resolve("scores-1.log")));
+	}
+
+	@Test
+	void compactionKeepsTotalsAndDeletesTheOldLog() throws Exception {
+		ScoreStore store = new ScoreStore(dir);
+		// About 40 bytes per game, past the 256 KiB that triggers a compaction
+		play(store, 8000);
+		store.awaitWrites();
+		assertFalse(Files.exists(dir.resolve("scores-0.log")));
+		assertTrue(Files.exists(dir.resolve("scores-1.log")));
+		store.close();
+
+		assertStats(reopen());
+
+		// Without the index the compacted generation alone has the same totals
+		Files.delete(dir.resolve("scores.idx"));
+		assertStats(reopen());
+	}
+
+	@Test
+	void unknownPlayerHasNoStats() throws Exception {
+		ScoreStore store = new ScoreStore(dir);
+		assertNull(store.getStats("nobody"));
+		assertEquals(0, store.getBestScore("nobody"));
+		store.close();
+	}
+
+	private void play(ScoreStore store, int games) {
+		for (int i = 0; i < games; i++) {
+			DeathCause cause = random.nextBoolean() ? DeathCause.PIPE : DeathCause.GROUND;
+			GameResult result = new GameResult(PLAYERS[random.nextInt(PLAYERS.length)], random.nextInt(200),
+					random.nextInt(60_000), cause, 1_000_000 + played.size());
+			store.recordGame(result);
+			expected.computeIfAbsent(result.getPlayer(), PlayerStats::new).apply(result);
+			played.add(result);
+		}
+	}
+
+	// Rebuilds the expected totals without the given game
+	private void forget(GameResult lost) {
+		played.remove(lost);
+		expected.clear();
+		for (GameResult result : played) {
+			expected.computeIfAbsent(result.getPlayer(), PlayerStats::new).apply(result);
+		}
+	}
+
+	// Closed right away, only for reading what was recovered
+	private ScoreStore reopen() {
+		ScoreStore store = new ScoreStore(dir);
+		store.close();
+		return store;
+	}
+
+	private void assertStats(ScoreStore store) {
+		for (String player : PLAYERS) {
+			PlayerStats want = expected.get(player);
+			PlayerStats got = store.getStats(player);
+			if (want == null) {
+				assertNull(got, player);
+				continue;
+			}
+			assertEquals(want.getBestScore(), got.getBestScore(), player);
+			assertEquals(want.getGames(), got.getGames(), player);
+			assertEquals(want.getTotalScore(), got.getTotalScore(), player);
+			assertEquals(want.getPlayMillis(), got.getPlayMillis(), player);
+			assertEquals(want.getPipeDeaths(), got.getPipeDeaths(), player);
+			assertEquals(want.getGroundDeaths(), got.getGroundDeaths(), player);
+			assertEquals(want.getLastPlayed(), got.getLastPlayed(), player);
+		}
+	}
+
+	// Start of every record of a log, in order
+	private static List<Long> recordOffsets(Path path) throws IOException {
+		List<Long> offsets = new ArrayList<Long>();
+		long[] end = { RecordLog.HEADER_SIZE };
+		try (RecordLog log = RecordLog.open(path, RecordLog.HEADER_SIZE, payload -> {
+			offsets.add(end[0]);
+			end[0] += 8 + payload.length;
+		})) {
+		}
+		return offsets;
+	}
+}